@@ -1,18 +1,87 @@
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class Demo {
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
     public static String delimit(String delimiter, String[] str) {
-        String result = "";
-        int i;
-        for (i = 0; i < str.length; i++) {
+        StringBuilder result = new StringBuilder(joinedLength(delimiter, Arrays.asList(str)));
+        for (int i = 0; i < str.length; i++) {
             if (i != 0) {
-                result += delimiter;
+                result.append(delimiter);
+            }
+
+            result.append(str[i]);
+        }
+
+        return result.toString();
+    }
+
+    public static String delimit(String delimiter, Iterable<String> str) {
+        int capacity = str instanceof Collection<String> collection ? joinedLength(delimiter, collection) : 16;
+        StringBuilder result = new StringBuilder(capacity);
+
+        Iterator<String> it = str.iterator();
+        while (it.hasNext()) {
+            result.append(it.next());
+            if (it.hasNext()) {
+                result.append(delimiter);
             }
+        }
+
+        return result.toString();
+    }
+
+    public static String delimit(String delimiter, Stream<String> str) {
+        return str.collect(Collectors.joining(String.valueOf(delimiter)));
+    }
+
+    /**
+     * Same result as {@link #delimit(String, String[])}, but for large arrays the
+     * elements are copied into place in parallel on the common fork-join pool.
+     * Each element's position is known up front from a prefix sum of the lengths.
+     */
+    public static String parallelDelimit(String delimiter, String[] str) {
+        if (str.length < PARALLEL_THRESHOLD) {
+            return delimit(delimiter, str);
+        }
+
+        // Appended like any other value, so a null delimiter becomes "null"
+        String separator = String.valueOf(delimiter);
+        String[] parts = Arrays.stream(str).map(String::valueOf).toArray(String[]::new);
+
+        // offsets[i] is where parts[i] starts in the result
+        long[] offsets = new long[parts.length + 1];
+        Arrays.parallelSetAll(offsets, i -> i == 0 ? 0 : parts[i - 1].length() + separator.length());
+        Arrays.parallelPrefix(offsets, Long::sum);
+
+        long length = offsets[parts.length] - separator.length();
+        if (length > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Result is too long for a String.");
+        }
+
+        char[] result = new char[(int) length];
+        IntStream.range(0, parts.length).parallel().forEach(i -> {
+            int offset = (int) offsets[i];
+            parts[i].getChars(0, parts[i].length(), result, offset);
+            if (i != parts.length - 1) {
+                separator.getChars(0, separator.length(), result, offset + parts[i].length());
+            }
+        });
+
+        return new String(result);
+    }
 
-            result += str[i];
+    private static int joinedLength(String delimiter, Collection<String> str) {
+        long length = (long) Math.max(0, str.size() - 1) * String.valueOf(delimiter).length();
+        for (String s : str) {
+            length += String.valueOf(s).length();
         }
 
-        return result;
+        return (int) Math.min(length, Integer.MAX_VALUE - 8);
     }
 }
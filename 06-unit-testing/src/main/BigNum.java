@@ -0,0 +1,542 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable non-negative integer of arbitrary size.
+ *
+ * <p>The magnitude is stored in a primitive {@code int[]} of base 10^9 "limbs",
+ * least-significant limb first, so each limb holds nine decimal digits. Leading
+ * zero limbs are never stored, which means zero is represented by an empty array.</p>
+ */
+public final class BigNum implements Comparable<BigNum> {
+
+    static final int BASE = 1_000_000_000;
+    static final int DIGITS_PER_LIMB = 9;
+
+    /**
+     * Operands shorter than this many limbs are multiplied with the schoolbook algorithm.
+     */
+    public static final int DEFAULT_KARATSUBA_THRESHOLD = 40;
+
+    private static final int[] POWERS_OF_TEN = {
+            1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000
+    };
+
+    public static final BigNum ZERO = new BigNum(new int[0]);
+
+    private final int[] limbs;
+
+    private BigNum(int[] limbs) {
+        this.limbs = limbs;
+    }
+
+    /**
+     * Create a BigNum from a list of decimal digits, most-significant digit first.
+     *
+     * @param digits The digits of the number
+     * @return The number represented by the digits
+     * @throws IllegalArgumentException if any digit is < 0 or > 9
+     */
+    public static BigNum fromDigits(List<Integer> digits) {
+        int[] limbs = new int[(digits.size() + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB];
+
+        // Walk backwards so that LinkedLists are not indexed one get(i) at a time
+        ListIterator<Integer> it = digits.listIterator(digits.size());
+        int position = 0;
+        while (it.hasPrevious()) {
+            int digit = it.previous();
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException();
+            }
+
+            limbs[position / DIGITS_PER_LIMB] += digit * POWERS_OF_TEN[position % DIGITS_PER_LIMB];
+            position++;
+        }
+
+        return new BigNum(trim(limbs, limbs.length));
+    }
+
+    /**
+     * @param other The number to be added to this one
+     * @return A new BigNum holding the sum of this and other
+     */
+    public BigNum plus(BigNum other) {
+        int[] longer = this.limbs.length >= other.limbs.length ? this.limbs : other.limbs;
+        int[] shorter = longer == this.limbs ? other.limbs : this.limbs;
+
+        int[] sum = new int[longer.length + 1];
+        int carry = 0;
+        int i = 0;
+        for (; i < shorter.length; i++) {
+            int limb = longer[i] + shorter[i] + carry;
+            carry = limb >= BASE ? 1 : 0;
+            sum[i] = limb - carry * BASE;
+        }
+
+        for (; i < longer.length; i++) {
+            int limb = longer[i] + carry;
+            carry = limb >= BASE ? 1 : 0;
+            sum[i] = limb - carry * BASE;
+        }
+
+        sum[i] = carry;
+        return new BigNum(trim(sum, sum.length));
+    }
+
+    /**
+     * Add on the common {@link ForkJoinPool} when both operands have at least
+     * {@code parallelThreshold} limbs, and sequentially otherwise.
+     *
+     * @param other The number to be added to this one
+     * @param parallelThreshold The operand size, in limbs, at which addition goes parallel
+     * @return A new BigNum holding the sum of this and other
+     */
+    public BigNum plus(BigNum other, int parallelThreshold) {
+        return this.plus(other, parallelThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Carry-select addition. The limbs are split into one chunk per task; each chunk
+     * is summed in parallel as if no carry came in, a sequential prefix pass over
+     * the chunks then works out which of them really receive a carry, and those
+     * chunks are incremented in parallel. The result is identical to {@link #plus(BigNum)}.
+     *
+     * @param other The number to be added to this one
+     * @param parallelThreshold The operand size, in limbs, at which addition goes parallel
+     * @param pool The pool to run the chunks on
+     * @return A new BigNum holding the sum of this and other
+     * @throws IllegalArgumentException if parallelThreshold is < 1
+     */
+    public BigNum plus(BigNum other, int parallelThreshold, ForkJoinPool pool) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be at least 1 limb.");
+        }
+
+        if (Math.min(this.limbs.length, other.limbs.length) < parallelThreshold) {
+            return this.plus(other);
+        }
+
+        int[] longer = this.limbs.length >= other.limbs.length ? this.limbs : other.limbs;
+        int[] shorter = longer == this.limbs ? other.limbs : this.limbs;
+        int[] sum = new int[longer.length + 1];
+
+        int chunks = Math.min(longer.length, pool.getParallelism() * 4);
+        int chunkSize = (longer.length + chunks - 1) / chunks;
+        chunks = (longer.length + chunkSize - 1) / chunkSize;
+        boolean[] generates = new boolean[chunks];
+        boolean[] propagates = new boolean[chunks];
+
+        // Pass 1: sum every chunk assuming a carry-in of 0
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            int from = chunk * chunkSize;
+            int to = Math.min(from + chunkSize, longer.length);
+            int carry = 0;
+            boolean allNines = true;
+            for (int i = from; i < to; i++) {
+                int limb = longer[i] + (i < shorter.length ? shorter[i] : 0) + carry;
+                carry = limb >= BASE ? 1 : 0;
+                sum[i] = limb - carry * BASE;
+                allNines &= sum[i] == BASE - 1;
+            }
+            generates[chunk] = carry == 1;
+            propagates[chunk] = allNines;
+        }));
+
+        // Pass 2: prefix-carry over the chunks
+        boolean[] carriesIn = new boolean[chunks];
+        boolean carry = false;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            carriesIn[chunk] = carry;
+            carry = generates[chunk] || (propagates[chunk] && carry);
+        }
+        sum[longer.length] = carry ? 1 : 0;
+
+        // Pass 3: increment the chunks that receive a carry
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            if (carriesIn[chunk]) {
+                int to = Math.min(chunk * chunkSize + chunkSize, longer.length);
+                for (int i = chunk * chunkSize; i < to && ++sum[i] == BASE; i++) {
+                    sum[i] = 0;
+                }
+            }
+        }));
+
+        return new BigNum(trim(sum, sum.length));
+    }
+
+    /**
+     * Runs {@code work} once for each chunk index in [from, to), splitting in half until
+     * each task has a single chunk.
+     */
+    @SuppressWarnings("serial") // Never serialized; only run on a ForkJoinPool
+    private static class ChunkTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer work;
+
+        ChunkTask(int from, int to, IntConsumer work) {
+            this.from = from;
+            this.to = to;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                if (this.from < this.to) {
+                    this.work.accept(this.from);
+                }
+                return;
+            }
+
+            int mid = (this.from + this.to) / 2;
+            invokeAll(new ChunkTask(this.from, mid, this.work), new ChunkTask(mid, this.to, this.work));
+        }
+    }
+
+    /**
+     * @param other The number to be subtracted from this one
+     * @return A new BigNum holding the difference of this and other
+     * @throws IllegalArgumentException if other is greater than this
+     */
+    public BigNum minus(BigNum other) {
+        if (this.compareTo(other) < 0) {
+            throw new IllegalArgumentException("Difference would be negative.");
+        }
+
+        int[] difference = new int[this.limbs.length];
+        int borrow = 0;
+        for (int i = 0; i < this.limbs.length; i++) {
+            int limb = this.limbs[i] - (i < other.limbs.length ? other.limbs[i] : 0) - borrow;
+            borrow = limb < 0 ? 1 : 0;
+            difference[i] = limb + borrow * BASE;
+        }
+
+        return new BigNum(trim(difference, difference.length));
+    }
+
+    /**
+     * Multiply using {@link #DEFAULT_KARATSUBA_THRESHOLD}.
+     *
+     * @param other The number to multiply this one by
+     * @return A new BigNum holding the product of this and other
+     */
+    public BigNum times(BigNum other) {
+        return this.times(other, DEFAULT_KARATSUBA_THRESHOLD);
+    }
+
+    /**
+     * Multiply two numbers, switching from the O(n^2) schoolbook algorithm to
+     * Karatsuba's O(n^1.585) algorithm once both operands have at least
+     * {@code karatsubaThreshold} limbs.
+     *
+     * @param other The number to multiply this one by
+     * @param karatsubaThreshold The operand size, in limbs, at which Karatsuba takes over
+     * @return A new BigNum holding the product of this and other
+     * @throws IllegalArgumentException if karatsubaThreshold is < 2
+     */
+    public BigNum times(BigNum other, int karatsubaThreshold) {
+        if (karatsubaThreshold < 2) {
+            throw new IllegalArgumentException("Karatsuba threshold must be at least 2 limbs.");
+        }
+
+        return karatsuba(this, other, karatsubaThreshold);
+    }
+
+    private static BigNum karatsuba(BigNum x, BigNum y, int threshold) {
+        if (Math.min(x.limbs.length, y.limbs.length) < threshold) {
+            return schoolbook(x, y);
+        }
+
+        // x = x1 * BASE^half + x0, and likewise for y
+        int half = Math.max(x.limbs.length, y.limbs.length) / 2;
+        BigNum x0 = x.lowLimbs(half);
+        BigNum x1 = x.highLimbs(half);
+        BigNum y0 = y.lowLimbs(half);
+        BigNum y1 = y.highLimbs(half);
+
+        BigNum z0 = karatsuba(x0, y0, threshold);
+        BigNum z2 = karatsuba(x1, y1, threshold);
+        BigNum z1 = karatsuba(x0.plus(x1), y0.plus(y1), threshold).minus(z0).minus(z2);
+
+        return z2.shiftLimbs(2 * half).plus(z1.shiftLimbs(half)).plus(z0);
+    }
+
+    private static BigNum schoolbook(BigNum x, BigNum y) {
+        if (x.limbs.length == 0 || y.limbs.length == 0) {
+            return ZERO;
+        }
+
+        int[] product = new int[x.limbs.length + y.limbs.length];
+        for (int i = 0; i < x.limbs.length; i++) {
+            long carry = 0;
+            for (int j = 0; j < y.limbs.length; j++) {
+                long limb = (long) x.limbs[i] * y.limbs[j] + product[i + j] + carry;
+                product[i + j] = (int) (limb % BASE);
+                carry = limb / BASE;
+            }
+            product[i + y.limbs.length] = (int) carry;
+        }
+
+        return new BigNum(trim(product, product.length));
+    }
+
+    private BigNum lowLimbs(int count) {
+        return new BigNum(trim(this.limbs, Math.min(count, this.limbs.length)));
+    }
+
+    private BigNum highLimbs(int count) {
+        if (count >= this.limbs.length) {
+            return ZERO;
+        }
+
+        return new BigNum(Arrays.copyOfRange(this.limbs, count, this.limbs.length));
+    }
+
+    private BigNum shiftLimbs(int count) {
+        if (this.limbs.length == 0) {
+            return this;
+        }
+
+        int[] shifted = new int[this.limbs.length + count];
+        System.arraycopy(this.limbs, 0, shifted, count, this.limbs.length);
+        return new BigNum(shifted);
+    }
+
+    /**
+     * @param other The divisor
+     * @return A new BigNum holding the quotient of this and other, rounded down
+     * @throws ArithmeticException if other is zero
+     */
+    public BigNum divide(BigNum other) {
+        return this.divideAndRemainder(other)[0];
+    }
+
+    /**
+     * @param other The divisor
+     * @return A new BigNum holding the remainder of dividing this by other
+     * @throws ArithmeticException if other is zero
+     */
+    public BigNum remainder(BigNum other) {
+        return this.divideAndRemainder(other)[1];
+    }
+
+    /**
+     * Long division (Knuth's Algorithm D) in base 10^9.
+     *
+     * @return An array holding the quotient followed by the remainder
+     */
+    private BigNum[] divideAndRemainder(BigNum other) {
+        if (other.limbs.length == 0) {
+            throw new ArithmeticException("Division by zero.");
+        }
+
+        if (this.compareTo(other) < 0) {
+            return new BigNum[] {ZERO, this};
+        }
+
+        if (other.limbs.length == 1) {
+            int[] quotient = new int[this.limbs.length];
+            int remainder = divideByLimb(this.limbs, this.limbs.length, other.limbs[0], quotient);
+            return new BigNum[] {
+                    new BigNum(trim(quotient, quotient.length)),
+                    new BigNum(trim(new int[] {remainder}, 1))
+            };
+        }
+
+        // Scale both operands so that the divisor's top limb is at least BASE / 2;
+        // this keeps each estimated quotient limb within one of the true value.
+        int n = other.limbs.length;
+        int m = this.limbs.length - n;
+        int scale = BASE / (other.limbs[n - 1] + 1);
+        int[] u = multiplyByLimb(this.limbs, scale, this.limbs.length + 1);
+        int[] v = multiplyByLimb(other.limbs, scale, n);
+        int[] quotient = new int[m + 1];
+
+        for (int j = m; j >= 0; j--) {
+            long numerator = (long) u[j + n] * BASE + u[j + n - 1];
+            long qhat = numerator / v[n - 1];
+            long rhat = numerator % v[n - 1];
+            while (qhat >= BASE || qhat * v[n - 2] > rhat * BASE + u[j + n - 2]) {
+                qhat--;
+                rhat += v[n - 1];
+                if (rhat >= BASE) {
+                    break;
+                }
+            }
+
+            // u[j..j+n] -= qhat * v
+            long carry = 0;
+            int borrow = 0;
+            for (int i = 0; i < n; i++) {
+                long product = qhat * v[i] + carry;
+                carry = product / BASE;
+                int limb = u[i + j] - (int) (product % BASE) - borrow;
+                borrow = limb < 0 ? 1 : 0;
+                u[i + j] = limb + borrow * BASE;
+            }
+            u[j + n] -= (int) carry + borrow;
+
+            // qhat was one too large: add v back
+            if (u[j + n] < 0) {
+                qhat--;
+                int addCarry = 0;
+                for (int i = 0; i < n; i++) {
+                    int limb = u[i + j] + v[i] + addCarry;
+                    addCarry = limb >= BASE ? 1 : 0;
+                    u[i + j] = limb - addCarry * BASE;
+                }
+                u[j + n] += addCarry;
+            }
+
+            quotient[j] = (int) qhat;
+        }
+
+        int[] remainder = new int[n];
+        divideByLimb(u, n, scale, remainder);
+        return new BigNum[] {
+                new BigNum(trim(quotient, quotient.length)),
+                new BigNum(trim(remainder, remainder.length))
+        };
+    }
+
+    private static int divideByLimb(int[] dividend, int length, int divisor, int[] quotient) {
+        long remainder = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            long current = remainder * BASE + dividend[i];
+            quotient[i] = (int) (current / divisor);
+            remainder = current % divisor;
+        }
+
+        return (int) remainder;
+    }
+
+    private static int[] multiplyByLimb(int[] limbs, int factor, int length) {
+        int[] product = new int[length];
+        long carry = 0;
+        for (int i = 0; i < limbs.length; i++) {
+            long limb = (long) limbs[i] * factor + carry;
+            product[i] = (int) (limb % BASE);
+            carry = limb / BASE;
+        }
+
+        if (limbs.length < length) {
+            product[limbs.length] = (int) carry;
+        }
+
+        return product;
+    }
+
+    @Override
+    public int compareTo(BigNum other) {
+        if (this.limbs.length != other.limbs.length) {
+            return Integer.compare(this.limbs.length, other.limbs.length);
+        }
+
+        for (int i = this.limbs.length - 1; i >= 0; i--) {
+            if (this.limbs[i] != other.limbs[i]) {
+                return Integer.compare(this.limbs[i], other.limbs[i]);
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return The number of decimal digits in this number (zero has one digit)
+     */
+    public int digitCount() {
+        if (this.limbs.length == 0) {
+            return 1;
+        }
+
+        int top = this.limbs[this.limbs.length - 1];
+        int topDigits = 1;
+        while (topDigits < DIGITS_PER_LIMB && top >= POWERS_OF_TEN[topDigits]) {
+            topDigits++;
+        }
+
+        return (this.limbs.length - 1) * DIGITS_PER_LIMB + topDigits;
+    }
+
+    /**
+     * @param position The position of the digit, where 0 is the least-significant digit
+     * @return The decimal digit at the given position (0 past the end of the number)
+     */
+    public int digitAt(int position) {
+        int limb = position / DIGITS_PER_LIMB;
+        if (limb >= this.limbs.length) {
+            return 0;
+        }
+
+        return this.limbs[limb] / POWERS_OF_TEN[position % DIGITS_PER_LIMB] % 10;
+    }
+
+    /**
+     * @return The decimal digits of this number, most-significant digit first
+     */
+    public List<Integer> toDigits() {
+        return this.toDigits(this.digitCount());
+    }
+
+    /**
+     * Produce exactly {@code width} digits, most-significant digit first. Narrower
+     * numbers are padded with leading zeros, and wider numbers lose their high digits.
+     *
+     * @param width The number of digits to produce
+     * @return The lowest {@code width} decimal digits of this number
+     */
+    public List<Integer> toDigits(int width) {
+        List<Integer> digits = new ArrayList<>(width);
+        for (int position = width - 1; position >= 0; position--) {
+            digits.add(this.digitAt(position));
+        }
+
+        return digits;
+    }
+
+    private static int[] trim(int[] limbs, int length) {
+        while (length > 0 && limbs[length - 1] == 0) {
+            length--;
+        }
+
+        return length == limbs.length ? limbs : Arrays.copyOf(limbs, length);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof BigNum otherNum) {
+            return Arrays.equals(this.limbs, otherNum.limbs);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.limbs);
+    }
+
+    @Override
+    public String toString() {
+        if (this.limbs.length == 0) {
+            return "0";
+        }
+
+        StringBuilder result = new StringBuilder(this.limbs.length * DIGITS_PER_LIMB);
+        result.append(this.limbs[this.limbs.length - 1]);
+        for (int i = this.limbs.length - 2; i >= 0; i--) {
+            String limb = Integer.toString(this.limbs[i]);
+            result.append("0".repeat(DIGITS_PER_LIMB - limb.length())).append(limb);
+        }
+
+        return result.toString();
+    }
+}
@@ -1,15 +1,27 @@
 package main;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 public class BigNumberCalculator {
 
+    // Set from one thread and read by any caller, so writes must be visible everywhere
+    private static volatile int karatsubaThreshold = BigNum.DEFAULT_KARATSUBA_THRESHOLD;
+    private static volatile int parallelThreshold = Integer.MAX_VALUE;
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
     /**
      * Add two positive integers represented by lists of digits.
      *
+     * <p>The result has as many digits as the longer operand; this is an adapter
+     * over {@link BigNum#plus(BigNum)}. Operands with at least {@link #getParallelThreshold()}
+     * limbs are added in parallel on the common fork-join pool.</p>
+     *
      * @param left The left operand
      * @param right The right operand
      * @return A list of integers representing the sum of left and right
@@ -20,29 +32,267 @@ public class BigNumberCalculator {
             return null;
         }
 
-        left = new ArrayList<>(left);
-        Collections.reverse(left);
-        right = new ArrayList<>(right);
-        Collections.reverse(right);
+        BigNum sum = BigNum.fromDigits(left).plus(BigNum.fromDigits(right), parallelThreshold);
+        return sum.toDigits(Math.max(left.size(), right.size()));
+    }
+
+    /**
+     * Subtract one positive integer from another, both represented by lists of digits.
+     *
+     * @param left The left operand
+     * @param right The right operand
+     * @return A list of integers representing left minus right, without leading zeros
+     * @throws IllegalArgumentException if any digit is < 0 or > 9, or if right is greater than left
+     */
+    public static List<Integer> minus(List<Integer> left, List<Integer> right) {
+        if (left == null || right == null) {
+            return null;
+        }
+
+        return BigNum.fromDigits(left).minus(BigNum.fromDigits(right)).toDigits();
+    }
+
+    /**
+     * Multiply two positive integers represented by lists of digits. Operands with at
+     * least {@link #getKaratsubaThreshold()} limbs are multiplied with Karatsuba's algorithm.
+     *
+     * @param left The left operand
+     * @param right The right operand
+     * @return A list of integers representing the product of left and right, without leading zeros
+     * @throws IllegalArgumentException if any digits in either list is < 0 or > 9
+     */
+    public static List<Integer> times(List<Integer> left, List<Integer> right) {
+        if (left == null || right == null) {
+            return null;
+        }
+
+        return BigNum.fromDigits(left).times(BigNum.fromDigits(right), karatsubaThreshold).toDigits();
+    }
+
+    /**
+     * Divide one positive integer by another, both represented by lists of digits.
+     *
+     * @param left The dividend
+     * @param right The divisor
+     * @return A list of integers representing left divided by right, rounded down
+     * @throws IllegalArgumentException if any digits in either list is < 0 or > 9
+     * @throws ArithmeticException if right is zero
+     */
+    public static List<Integer> divide(List<Integer> left, List<Integer> right) {
+        if (left == null || right == null) {
+            return null;
+        }
+
+        return BigNum.fromDigits(left).divide(BigNum.fromDigits(right)).toDigits();
+    }
+
+    /**
+     * Compare two positive integers represented by lists of digits. Leading zeros are ignored.
+     *
+     * @param left The left operand
+     * @param right The right operand
+     * @return A negative number, zero, or a positive number as left is less than, equal to,
+     * or greater than right
+     * @throws IllegalArgumentException if any digits in either list is < 0 or > 9
+     */
+    public static int compare(List<Integer> left, List<Integer> right) {
+        return BigNum.fromDigits(left).compareTo(BigNum.fromDigits(right));
+    }
+
+    public static int getKaratsubaThreshold() {
+        return karatsubaThreshold;
+    }
+
+    /**
+     * @param threshold The operand size, in limbs of nine digits, at which {@link #times}
+     *                  switches from schoolbook to Karatsuba multiplication
+     * @throws IllegalArgumentException if threshold is < 2
+     */
+    public static void setKaratsubaThreshold(int threshold) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Karatsuba threshold must be at least 2 limbs.");
+        }
+
+        karatsubaThreshold = threshold;
+    }
+
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Parallel addition is off by default; pass {@link Integer#MAX_VALUE} to turn it off again.
+     *
+     * @param threshold The operand size, in limbs of nine digits, at which {@link #plus}
+     *                  adds chunks of the operands in parallel
+     * @throws IllegalArgumentException if threshold is < 1
+     */
+    public static void setParallelThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be at least 1 limb.");
+        }
+
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Add two positive integers stored as ASCII decimal digits in files, most-significant
+     * digit first, and write the sum to another file in the same format. Unlike
+     * {@link #plus(List, List)}, the sum keeps its final carry.
+     *
+     * @param left The file holding the left operand
+     * @param right The file holding the right operand
+     * @param result The file to write the sum to; it is created or overwritten
+     * @throws IOException if any of the files cannot be read or written
+     * @throws IllegalArgumentException if either file contains something other than digits
+     */
+    public static void plus(Path left, Path right, Path result) throws IOException {
+        try (FileChannel leftChannel = FileChannel.open(left, StandardOpenOption.READ);
+             FileChannel rightChannel = FileChannel.open(right, StandardOpenOption.READ);
+             FileChannel resultChannel = FileChannel.open(result, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            plus(leftChannel, rightChannel, resultChannel);
+        }
+    }
+
+    /**
+     * Streaming version of {@link #plus(Path, Path, Path)}. Operands are read from the
+     * least-significant end one fixed-size block at a time, and the sum is written
+     * backwards into {@code result}, so memory use does not depend on operand size.
+     * Trailing whitespace (such as a final newline) in the operands is ignored.
+     *
+     * @param left A channel holding the left operand
+     * @param right A channel holding the right operand
+     * @param result A channel to write the sum to, starting at position 0
+     * @return The number of digits written to result
+     * @throws IOException if any of the channels cannot be read or written
+     * @throws IllegalArgumentException if either operand contains something other than digits
+     */
+    public static long plus(FileChannel left, FileChannel right, FileChannel result) throws IOException {
+        DigitReader leftDigits = new DigitReader(left);
+        DigitReader rightDigits = new DigitReader(right);
+        long width = Math.max(leftDigits.length, rightDigits.length);
 
-        LinkedList<Integer> result = new LinkedList<>();
+        // The final carry is decided by the first (most-significant) column whose
+        // digits don't sum to 9, so it can usually be found without reading far.
+        int finalCarry = 0;
+        for (long i = width - 1; i >= 0; i--) {
+            int columnSum = leftDigits.digitFromEnd(i) + rightDigits.digitFromEnd(i);
+            if (columnSum != 9) {
+                finalCarry = columnSum > 9 ? 1 : 0;
+                break;
+            }
+        }
 
+        long resultLength = width + finalCarry;
+        DigitWriter resultDigits = new DigitWriter(result, resultLength);
         int carry = 0;
-        for (int i = 0; i < Math.max(left.size(), right.size()); i++) {
-            int leftDigit = left.size() > i ? left.get(i) : 0;
-            int rightDigit = right.size() > i ? right.get(i) : 0;
+        for (long i = 0; i < width; i++) {
+            int sum = leftDigits.digitFromEnd(i) + rightDigits.digitFromEnd(i) + carry;
+            carry = sum >= 10 ? 1 : 0;
+            resultDigits.write(sum - carry * 10);
+        }
+
+        if (carry == 1) {
+            resultDigits.write(1);
+        }
 
-            // Throw an exception if the precondition doesn't hold
-            if (leftDigit < 0 || leftDigit > 9 || rightDigit < 0 || rightDigit > 9) {
+        resultDigits.flush();
+        result.truncate(resultLength);
+        return resultLength;
+    }
+
+    /**
+     * Random access to the digits of a file through a single cached block.
+     */
+    private static class DigitReader {
+        private final FileChannel channel;
+        private final long length;
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        private long blockStart = -1;
+
+        DigitReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+
+            long length = channel.size();
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (length > 0) {
+                last.clear();
+                channel.read(last, length - 1);
+                if (!Character.isWhitespace(last.get(0))) {
+                    break;
+                }
+                length--;
+            }
+            this.length = length;
+        }
+
+        /**
+         * @param i The position of the digit, where 0 is the least-significant digit
+         * @return The digit, or 0 past the most-significant digit
+         */
+        int digitFromEnd(long i) throws IOException {
+            if (i >= this.length) {
+                return 0;
+            }
+
+            long offset = this.length - 1 - i;
+            if (this.blockStart < 0 || offset < this.blockStart || offset >= this.blockStart + this.block.limit()) {
+                this.load(offset - offset % BLOCK_SIZE);
+            }
+
+            int digit = this.block.get((int) (offset - this.blockStart)) - '0';
+            if (digit < 0 || digit > 9) {
                 throw new IllegalArgumentException();
             }
 
-            int sum = leftDigit + rightDigit + carry;
+            return digit;
+        }
 
-            result.addFirst(sum % 10);
-            carry = sum / 10;
+        private void load(long start) throws IOException {
+            this.block.clear();
+            this.block.limit((int) Math.min(BLOCK_SIZE, this.length - start));
+            while (this.block.hasRemaining()) {
+                if (this.channel.read(this.block, start + this.block.position()) < 0) {
+                    throw new IOException("Unexpected end of file.");
+                }
+            }
+            this.blockStart = start;
         }
+    }
 
-        return result;
+    /**
+     * Writes digits least-significant first, filling each block from its end.
+     */
+    private static class DigitWriter {
+        private final FileChannel channel;
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private long end;
+        private int free = BLOCK_SIZE;
+
+        DigitWriter(FileChannel channel, long length) {
+            this.channel = channel;
+            this.end = length;
+        }
+
+        void write(int digit) throws IOException {
+            if (this.free == 0) {
+                this.flush();
+            }
+
+            this.block[--this.free] = (byte) ('0' + digit);
+        }
+
+        void flush() throws IOException {
+            int used = BLOCK_SIZE - this.free;
+            ByteBuffer buffer = ByteBuffer.wrap(this.block, this.free, used);
+            long start = this.end - used;
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer, start + buffer.position() - this.free);
+            }
+
+            this.end = start;
+            this.free = BLOCK_SIZE;
+        }
     }
 }
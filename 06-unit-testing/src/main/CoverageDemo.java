@@ -1,11 +1,25 @@
 package main;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static main.CoverageDemo.TRIANGLE_TYPE.*;
 
 public class CoverageDemo {
 
+    /**
+     * Written by the bulk classifiers for rows with a side length that is not greater
+     * than 0, where {@link #getTriangleType(int, int, int)} would throw.
+     */
+    public static final byte ILLEGAL_SIDES = -1;
+
+    private static final int ROWS_PER_TASK = 1 << 16;
+
+    private static final byte EQUILATERAL_ORDINAL = (byte) EQUILATERAL.ordinal();
+    private static final byte ISOSCELES_ORDINAL = (byte) ISOSCELES.ordinal();
+    private static final byte SCALENE_ORDINAL = (byte) SCALENE.ordinal();
+    private static final byte INVALID_ORDINAL = (byte) INVALID.ordinal();
+
     public static TRIANGLE_TYPE getTriangleType(int side1, int side2, int side3) {
         if (side1 <= 0 || side2 <= 0 || side3 <= 0) {
             throw new IllegalArgumentException("Side lengths must be greater than 0.");
@@ -26,6 +40,112 @@ public class CoverageDemo {
         return SCALENE;
     }
 
+    /**
+     * Classify many triangles at once. Row {@code i} has sides {@code side1[i]},
+     * {@code side2[i]} and {@code side3[i]}, and its {@link TRIANGLE_TYPE} ordinal is
+     * written to {@code types[i]}, or {@link #ILLEGAL_SIDES} instead of throwing.
+     * Side sums are computed as longs, so large sides cannot overflow.
+     *
+     * @param side1 The first side of each triangle
+     * @param side2 The second side of each triangle
+     * @param side3 The third side of each triangle
+     * @param types Where to write the type of each triangle
+     * @throws IllegalArgumentException if the arrays don't all have the same length
+     */
+    public static void classifyTriangles(int[] side1, int[] side2, int[] side3, byte[] types) {
+        checkColumns(side1, side2, side3, types);
+        classifyRows(side1, side2, side3, types, 0, types.length);
+    }
+
+    /**
+     * Like {@link #classifyTriangles(int[], int[], int[], byte[])}, with the rows split
+     * into chunks that are classified in parallel.
+     */
+    public static void parallelClassifyTriangles(int[] side1, int[] side2, int[] side3, byte[] types) {
+        checkColumns(side1, side2, side3, types);
+        forEachChunk(types.length, (from, to) -> classifyRows(side1, side2, side3, types, from, to));
+    }
+
+    /**
+     * Like {@link #classifyTriangles(int[], int[], int[], byte[])}, with the sides of row
+     * {@code i} packed into {@code sides[3 * i]}, {@code sides[3 * i + 1]} and
+     * {@code sides[3 * i + 2]}.
+     *
+     * @param sides The sides of every triangle, three per row
+     * @param types Where to write the type of each triangle
+     * @throws IllegalArgumentException if there aren't exactly three sides per type
+     */
+    public static void classifyTriangles(int[] sides, byte[] types) {
+        checkPacked(sides, types);
+        classifyPackedRows(sides, types, 0, types.length);
+    }
+
+    /**
+     * Like {@link #classifyTriangles(int[], byte[])}, with the rows split into chunks
+     * that are classified in parallel.
+     */
+    public static void parallelClassifyTriangles(int[] sides, byte[] types) {
+        checkPacked(sides, types);
+        forEachChunk(types.length, (from, to) -> classifyPackedRows(sides, types, from, to));
+    }
+
+    private static void classifyRows(int[] side1, int[] side2, int[] side3, byte[] types, int from, int to) {
+        for (int i = from; i < to; i++) {
+            types[i] = classify(side1[i], side2[i], side3[i]);
+        }
+    }
+
+    private static void classifyPackedRows(int[] sides, byte[] types, int from, int to) {
+        for (int i = from; i < to; i++) {
+            types[i] = classify(sides[3 * i], sides[3 * i + 1], sides[3 * i + 2]);
+        }
+    }
+
+    private static byte classify(int side1, int side2, int side3) {
+        if (side1 <= 0 || side2 <= 0 || side3 <= 0) {
+            return ILLEGAL_SIDES;
+        }
+
+        long a = side1;
+        long b = side2;
+        long c = side3;
+        if (a >= b + c || b >= a + c || c >= a + b) {
+            return INVALID_ORDINAL;
+        }
+
+        if (a == b && b == c) {
+            return EQUILATERAL_ORDINAL;
+        }
+
+        if (a == b || b == c || a == c) {
+            return ISOSCELES_ORDINAL;
+        }
+
+        return SCALENE_ORDINAL;
+    }
+
+    private interface RowRange {
+        void apply(int from, int to);
+    }
+
+    private static void forEachChunk(int rows, RowRange work) {
+        int chunks = (rows + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                work.apply(chunk * ROWS_PER_TASK, Math.min(rows, (chunk + 1) * ROWS_PER_TASK)));
+    }
+
+    private static void checkColumns(int[] side1, int[] side2, int[] side3, byte[] types) {
+        if (side1.length != types.length || side2.length != types.length || side3.length != types.length) {
+            throw new IllegalArgumentException("Side and type columns must have the same length.");
+        }
+    }
+
+    private static void checkPacked(int[] sides, byte[] types) {
+        if (sides.length != 3L * types.length) {
+            throw new IllegalArgumentException("There must be three sides for every type.");
+        }
+    }
+
     public static int multiply(int a, int b) {
         return a * b;
     }
@@ -0,0 +1,244 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled set of open/close tag pairs that can be searched for in a single
+ * left-to-right pass, using an Aho-Corasick automaton over every distinct tag.
+ *
+ * <p>For each pair, the matches are exactly those that
+ * {@link StringUtils#substringsBetween(String, String, String)} would return for that
+ * pair on its own. Instances are immutable, so one automaton can be shared by
+ * any number of threads.</p>
+ */
+public final class DelimiterAutomaton {
+
+    private final int pairCount;
+    private final boolean[] validPairs;
+
+    // Characters that appear in some tag are mapped to a class in 1..alphabetSize-1;
+    // every other character is class 0.
+    private final int[] charClasses;
+    private final int alphabetSize;
+
+    // transitions[state * alphabetSize + charClass] is the next state
+    private final int[] transitions;
+
+    // The tags that end at each state are outputs[outputStarts[state]..outputStarts[state + 1])
+    private final int[] outputStarts;
+    private final int[] outputs;
+
+    private final int[] tagLengths;
+    private final int[][] opensByTag;
+    private final int[][] closesByTag;
+
+    private DelimiterAutomaton(String[] opens, String[] closes) {
+        this.pairCount = opens.length;
+        this.validPairs = new boolean[this.pairCount];
+
+        Map<String, Integer> tagIds = new LinkedHashMap<>();
+        List<List<Integer>> opensByTag = new ArrayList<>();
+        List<List<Integer>> closesByTag = new ArrayList<>();
+        for (int pair = 0; pair < this.pairCount; pair++) {
+            String open = opens[pair];
+            String close = closes[pair];
+            if (open == null || close == null || open.isEmpty() || close.isEmpty()) {
+                continue;
+            }
+
+            this.validPairs[pair] = true;
+            for (String tag : new String[] {open, close}) {
+                if (!tagIds.containsKey(tag)) {
+                    tagIds.put(tag, tagIds.size());
+                    opensByTag.add(new ArrayList<>());
+                    closesByTag.add(new ArrayList<>());
+                }
+            }
+            opensByTag.get(tagIds.get(open)).add(pair);
+            closesByTag.get(tagIds.get(close)).add(pair);
+        }
+
+        String[] tags = tagIds.keySet().toArray(new String[0]);
+        this.tagLengths = new int[tags.length];
+        this.opensByTag = new int[tags.length][];
+        this.closesByTag = new int[tags.length][];
+        for (int tag = 0; tag < tags.length; tag++) {
+            this.tagLengths[tag] = tags[tag].length();
+            this.opensByTag[tag] = opensByTag.get(tag).stream().mapToInt(Integer::intValue).toArray();
+            this.closesByTag[tag] = closesByTag.get(tag).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Compress the alphabet down to the characters that occur in tags
+        int maxChar = 0;
+        for (String tag : tags) {
+            for (int i = 0; i < tag.length(); i++) {
+                maxChar = Math.max(maxChar, tag.charAt(i));
+            }
+        }
+        this.charClasses = new int[tags.length == 0 ? 0 : maxChar + 1];
+        int classes = 1;
+        for (String tag : tags) {
+            for (int i = 0; i < tag.length(); i++) {
+                if (this.charClasses[tag.charAt(i)] == 0) {
+                    this.charClasses[tag.charAt(i)] = classes++;
+                }
+            }
+        }
+        this.alphabetSize = classes;
+
+        // Build the trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        trie.add(new int[this.alphabetSize]);
+        stateOutputs.add(new ArrayList<>());
+        for (int tag = 0; tag < tags.length; tag++) {
+            int state = 0;
+            for (int i = 0; i < tags[tag].length(); i++) {
+                int charClass = this.charClasses[tags[tag].charAt(i)];
+                if (trie.get(state)[charClass] == 0) {
+                    trie.get(state)[charClass] = trie.size();
+                    trie.add(new int[this.alphabetSize]);
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[charClass];
+            }
+            stateOutputs.get(state).add(tag);
+        }
+
+        // Breadth-first, turn the trie into a full transition table by following
+        // failure links, and inherit the outputs of each state's failure state.
+        int states = trie.size();
+        this.transitions = new int[states * this.alphabetSize];
+        int[] failures = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int charClass = 0; charClass < this.alphabetSize; charClass++) {
+            int next = trie.get(0)[charClass];
+            this.transitions[charClass] = next;
+            if (next != 0) {
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            stateOutputs.get(state).addAll(stateOutputs.get(failures[state]));
+            for (int charClass = 0; charClass < this.alphabetSize; charClass++) {
+                int next = trie.get(state)[charClass];
+                int fallback = this.transitions[failures[state] * this.alphabetSize + charClass];
+                if (next == 0) {
+                    this.transitions[state * this.alphabetSize + charClass] = fallback;
+                } else {
+                    this.transitions[state * this.alphabetSize + charClass] = next;
+                    failures[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.outputStarts = new int[states + 1];
+        for (int state = 0; state < states; state++) {
+            this.outputStarts[state + 1] = this.outputStarts[state] + stateOutputs.get(state).size();
+        }
+        this.outputs = new int[this.outputStarts[states]];
+        for (int state = 0; state < states; state++) {
+            List<Integer> found = stateOutputs.get(state);
+            for (int i = 0; i < found.size(); i++) {
+                this.outputs[this.outputStarts[state] + i] = found.get(i);
+            }
+        }
+    }
+
+    /**
+     * Compile an automaton for the given tag pairs. Pair {@code i} is
+     * {@code opens[i]} and {@code closes[i]}; a pair with a {@code null} or empty
+     * tag never matches.
+     *
+     * @param opens the Strings identifying the start of each substring
+     * @param closes the Strings identifying the end of each substring
+     * @return an automaton that searches for every pair at once
+     * @throws IllegalArgumentException if opens and closes have different lengths
+     */
+    public static DelimiterAutomaton compile(String[] opens, String[] closes) {
+        if (opens.length != closes.length) {
+            throw new IllegalArgumentException("Every open tag needs a matching close tag.");
+        }
+
+        return new DelimiterAutomaton(opens.clone(), closes.clone());
+    }
+
+    /**
+     * @return The number of open/close pairs this automaton was compiled with
+     */
+    public int pairCount() {
+        return this.pairCount;
+    }
+
+    /**
+     * Searches a String for substrings delimited by every open/close pair at once.
+     *
+     * @param str the String containing the substrings, null returns null
+     * @return an array with one entry per pair, holding what
+     * {@link StringUtils#substringsBetween(String, String, String)} returns for that pair
+     */
+    public String[][] substringsBetween(final String str) {
+        if (str == null) {
+            return null;
+        }
+
+        String[][] result = new String[this.pairCount][];
+        if (str.isEmpty()) {
+            for (int pair = 0; pair < this.pairCount; pair++) {
+                result[pair] = this.validPairs[pair] ? new String[0] : null;
+            }
+            return result;
+        }
+
+        // For each pair, either the position from which to look for the next open tag,
+        // or (while inClose is set) the start of the substring being matched.
+        boolean[] inClose = new boolean[this.pairCount];
+        int[] from = new int[this.pairCount];
+        List<List<String>> found = new ArrayList<>(Collections.nCopies(this.pairCount, null));
+
+        int state = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            state = this.transitions[state * this.alphabetSize + (c < this.charClasses.length ? this.charClasses[c] : 0)];
+
+            for (int k = this.outputStarts[state]; k < this.outputStarts[state + 1]; k++) {
+                int tag = this.outputs[k];
+                int tagStart = i - this.tagLengths[tag] + 1;
+
+                for (int pair : this.closesByTag[tag]) {
+                    if (inClose[pair] && tagStart >= from[pair]) {
+                        if (found.get(pair) == null) {
+                            found.set(pair, new ArrayList<>());
+                        }
+                        found.get(pair).add(str.substring(from[pair], tagStart));
+                        inClose[pair] = false;
+                        from[pair] = i + 1;
+                    }
+                }
+
+                for (int pair : this.opensByTag[tag]) {
+                    if (!inClose[pair] && tagStart >= from[pair]) {
+                        inClose[pair] = true;
+                        from[pair] = i + 1;
+                    }
+                }
+            }
+        }
+
+        for (int pair = 0; pair < this.pairCount; pair++) {
+            List<String> matches = found.get(pair);
+            result[pair] = matches == null ? null : matches.toArray(new String[0]);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package main;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps a running average of daily inches of rainfall, with the same rules as
+ * {@link CoverageDemo#rainfall(java.util.List)}: negative readings are ignored, and
+ * nothing after the sentinel (999) is counted.
+ *
+ * <p>Aggregators for consecutive parts of the readings can be combined with
+ * {@link #merge(RainfallAggregator)}, so this also works as a parallel stream collector:
+ * {@code readings.collect(RainfallAggregator::new, RainfallAggregator::accept, RainfallAggregator::merge)}.</p>
+ */
+public class RainfallAggregator implements IntConsumer {
+
+    public static final int SENTINEL = 999;
+
+    private long total = 0;
+    private int days = 0;
+    private boolean stopped = false;
+
+    /**
+     * @param reading One day's rainfall
+     */
+    @Override
+    public void accept(int reading) {
+        if (this.stopped) {
+            return;
+        }
+
+        if (reading == SENTINEL) {
+            this.stopped = true;
+        } else if (reading >= 0) {
+            this.total += reading;
+            this.days++;
+        }
+    }
+
+    /**
+     * @param readings Consecutive days of rainfall
+     */
+    public void accept(int[] readings) {
+        for (int i = 0; i < readings.length && !this.stopped; i++) {
+            this.accept(readings[i]);
+        }
+    }
+
+    /**
+     * @param readings Consecutive days of rainfall, in order
+     */
+    public void accept(IntStream readings) {
+        this.merge(readings.collect(RainfallAggregator::new, RainfallAggregator::accept, RainfallAggregator::merge));
+    }
+
+    /**
+     * Add the readings seen by {@code later}, which must come after the readings seen by
+     * this aggregator. If this aggregator has already seen the sentinel, nothing is added.
+     *
+     * @param later An aggregator for the readings that follow this one's
+     * @return This aggregator
+     */
+    public RainfallAggregator merge(RainfallAggregator later) {
+        if (!this.stopped) {
+            this.total += later.total;
+            this.days += later.days;
+            this.stopped = later.stopped;
+        }
+
+        return this;
+    }
+
+    /**
+     * @return The average rainfall of the counted days, or 0 if no days were counted
+     */
+    public double average() {
+        return this.days == 0 ? 0 : (double) this.total / this.days;
+    }
+
+    /**
+     * @return The number of days counted so far
+     */
+    public int getDays() {
+        return this.days;
+    }
+
+    /**
+     * @return True if the sentinel has been seen, after which readings are ignored
+     */
+    public boolean isStopped() {
+        return this.stopped;
+    }
+}
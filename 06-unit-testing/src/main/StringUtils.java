@@ -1,9 +1,35 @@
 package main;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class StringUtils {
+
+    /**
+     * Receives the position of each match found by
+     * {@link #forEachSubstringBetween(String, String, String, MatchHandler)}.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * @param start the index of the first character of the match
+         * @param end the index just past the last character of the match
+         */
+        void match(int start, int end);
+    }
+
     /**
      * Example code from Apache commons-lang main.StringUtils library.
      *
@@ -57,4 +83,266 @@ public class StringUtils {
 
         return list.toArray(new String[0]);
     }
+
+    /**
+     * <p>Searches a String for substrings delimited by a start and an end tag, like
+     * {@link #substringsBetween(String, String, String)}, but hands the bounds of each
+     * match to {@code handler} instead of copying it out of the String.</p>
+     *
+     * @param str the String containing the substrings
+     * @param open the String identifying the start of the substring
+     * @param close the String identifying the end of the substring
+     * @param handler called once per match, in order
+     * @return the number of matches; 0 wherever substringsBetween would return null or empty
+     */
+    public static int forEachSubstringBetween(final String str, final String open, final String close,
+                                              final MatchHandler handler) {
+        if (str == null || open == null || close == null || open.isEmpty() || close.isEmpty()) {
+            return 0;
+        }
+
+        int strLen = str.length();
+        int closeLen = close.length();
+        int openLen = open.length();
+        int matches = 0;
+        int pos = 0;
+
+        while (pos < strLen - closeLen) {
+            int start = str.indexOf(open, pos);
+
+            if (start < 0) {
+                break;
+            }
+
+            start += openLen;
+            int end = str.indexOf(close, start);
+            if (end < 0) {
+                break;
+            }
+
+            handler.match(start, end);
+            matches++;
+            pos = end + closeLen;
+        }
+
+        return matches;
+    }
+
+    /**
+     * <p>Searches a String for substrings delimited by a start and an end tag,
+     * returning the bounds of each match as consecutive {@code start, end} pairs,
+     * so match {@code i} is {@code str.substring(result[2 * i], result[2 * i + 1])}.</p>
+     *
+     * @param str the String containing the substrings, null returns null, empty returns empty
+     * @param open the String identifying the start of the substring, empty returns null
+     * @param close the String identifying the end of the substring, empty returns null
+     * @return an int Array of match bounds, or {@code null} if no match
+     */
+    public static int[] substringRangesBetween(final String str, final String open, final String close) {
+        if (str == null || open == null || close == null || open.isEmpty() || close.isEmpty()) {
+            return null;
+        }
+
+        if (str.isEmpty()) {
+            return new int[0];
+        }
+
+        RangeCollector ranges = new RangeCollector();
+        if (forEachSubstringBetween(str, open, close, ranges) == 0) {
+            return null;
+        }
+
+        return Arrays.copyOf(ranges.bounds, ranges.size);
+    }
+
+    private static class RangeCollector implements MatchHandler {
+        private int[] bounds = new int[16];
+        private int size = 0;
+
+        @Override
+        public void match(int start, int end) {
+            if (this.size + 2 > this.bounds.length) {
+                this.bounds = Arrays.copyOf(this.bounds, this.bounds.length * 2);
+            }
+
+            this.bounds[this.size++] = start;
+            this.bounds[this.size++] = end;
+        }
+    }
+
+    /**
+     * <p>Searches a String for substrings delimited by a start and an end tag,
+     * returning each match as a {@link SubstringView} over {@code str} rather than a copy.</p>
+     *
+     * @param str the String containing the substrings, null returns null, empty returns empty
+     * @param open the String identifying the start of the substring, empty returns null
+     * @param close the String identifying the end of the substring, empty returns null
+     * @return a CharSequence Array of views, or {@code null} if no match
+     */
+    public static CharSequence[] substringViewsBetween(final String str, final String open, final String close) {
+        int[] ranges = substringRangesBetween(str, open, close);
+        if (ranges == null) {
+            return null;
+        }
+
+        CharSequence[] views = new CharSequence[ranges.length / 2];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new SubstringView(str, ranges[2 * i], ranges[2 * i + 1]);
+        }
+
+        return views;
+    }
+
+    /**
+     * A read-only window onto part of a String that shares the String's characters.
+     * Two views are equal if they hold the same characters, and hash like the
+     * equivalent String.
+     */
+    public static final class SubstringView implements CharSequence {
+        private final String str;
+        private final int start;
+        private final int end;
+
+        SubstringView(String str, int start, int end) {
+            this.str = str;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return this.end - this.start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= this.length()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            return this.str.charAt(this.start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > this.length() || start > end) {
+                throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + this.length());
+            }
+
+            return new SubstringView(this.str, this.start + start, this.start + end);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other instanceof SubstringView otherView) {
+                return this.length() == otherView.length()
+                        && this.str.regionMatches(this.start, otherView.str, otherView.start, this.length());
+            }
+
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 0;
+            for (int i = this.start; i < this.end; i++) {
+                hash = 31 * hash + this.str.charAt(i);
+            }
+
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return this.str.substring(this.start, this.end);
+        }
+    }
+
+    /**
+     * <p>Searches a character stream for substrings delimited by a start and an end tag,
+     * lazily, with the same matches as {@link #substringsBetween(String, String, String)}
+     * would find in the whole input. Tags may span reads from {@code reader}; only the
+     * current match and a few tag lengths of input are buffered.</p>
+     *
+     * <p>Closing the returned Stream closes {@code reader}, so use it in a
+     * try-with-resources statement. A {@code null} or empty open/close returns an empty
+     * Stream (no match).</p>
+     *
+     * @param reader the input containing the substrings
+     * @param open the String identifying the start of the substring
+     * @param close the String identifying the end of the substring
+     * @param maxMatchLength the length of the longest substring that may be found
+     * @return a Stream of the substrings, in order
+     * @throws IllegalArgumentException if maxMatchLength is negative
+     * @throws IllegalStateException (from the Stream) if a substring is longer than maxMatchLength
+     * @throws UncheckedIOException (from the Stream) if reading or closing fails
+     */
+    public static Stream<String> substringsBetween(final Reader reader, final String open, final String close,
+                                                   final int maxMatchLength) {
+        Objects.requireNonNull(reader);
+        if (maxMatchLength < 0) {
+            throw new IllegalArgumentException("Maximum match length must not be negative.");
+        }
+
+        if (open == null || close == null || open.isEmpty() || close.isEmpty()) {
+            return Stream.<String>empty().onClose(() -> closeUnchecked(reader));
+        }
+
+        Spliterator<String> matches = Spliterators.spliteratorUnknownSize(
+                new SubstringsBetweenIterator(reader, open, close, maxMatchLength),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(matches, false).onClose(() -> closeUnchecked(reader));
+    }
+
+    /**
+     * Like {@link #substringsBetween(Reader, String, String, int)}, decoding bytes from
+     * {@code channel} with the given charset.
+     *
+     * @param channel the input containing the substrings
+     * @param charset the encoding of the input
+     * @param open the String identifying the start of the substring
+     * @param close the String identifying the end of the substring
+     * @param maxMatchLength the length of the longest substring that may be found
+     * @return a Stream of the substrings, in order
+     */
+    public static Stream<String> substringsBetween(final ReadableByteChannel channel, final Charset charset,
+                                                   final String open, final String close,
+                                                   final int maxMatchLength) {
+        return substringsBetween(Channels.newReader(channel, charset), open, close, maxMatchLength);
+    }
+
+    /**
+     * Like {@code Files.lines}, a failure to close is rethrown; try-with-resources then
+     * attaches it to any exception already on its way out rather than hiding it.
+     */
+    private static void closeUnchecked(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * <p>Searches a String for substrings delimited by several start and end tag pairs
+     * at once, in a single pass over the String. Pair {@code i} is {@code opens[i]}
+     * and {@code closes[i]}.</p>
+     *
+     * <p>To search many Strings for the same pairs, compile a {@link DelimiterAutomaton}
+     * once and reuse it.</p>
+     *
+     * @param str the String containing the substrings, null returns null
+     * @param opens the Strings identifying the start of each substring, null returns null
+     * @param closes the Strings identifying the end of each substring, null returns null
+     * @return an array with one entry per pair, holding what
+     * {@link #substringsBetween(String, String, String)} returns for that pair
+     * @throws IllegalArgumentException if opens and closes have different lengths
+     */
+    public static String[][] substringsBetween(final String str, final String[] opens, final String[] closes) {
+        if (str == null || opens == null || closes == null) {
+            return null;
+        }
+
+        return DelimiterAutomaton.compile(opens, closes).substringsBetween(str);
+    }
 }
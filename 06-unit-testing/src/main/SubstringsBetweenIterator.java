@@ -0,0 +1,167 @@
+package main;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily finds the substrings between an open and a close tag in a {@link Reader},
+ * with the same semantics as {@link StringUtils#substringsBetween(String, String, String)}.
+ *
+ * <p>Only a sliding window of the input is kept: the tail that could still hold the start
+ * of a tag, or the current match and a possibly incomplete close tag. A match longer than
+ * {@code maxMatchLength} is reported as an error once its close tag is found, without
+ * ever being buffered.</p>
+ */
+class SubstringsBetweenIterator implements Iterator<String> {
+
+    private static final int BLOCK_SIZE = 8192;
+
+    private final Reader reader;
+    private final String open;
+    private final String close;
+    private final int maxMatchLength;
+    private final int maxBufferSize;
+
+    // Unconsumed input is buffer[low..high)
+    private char[] buffer;
+    private int low = 0;
+    private int high = 0;
+    private boolean endOfInput = false;
+
+    private String next;
+    private boolean done = false;
+
+    SubstringsBetweenIterator(Reader reader, String open, String close, int maxMatchLength) {
+        this.reader = reader;
+        this.open = open;
+        this.close = close;
+        this.maxMatchLength = maxMatchLength;
+        this.maxBufferSize = (int) Math.min(Integer.MAX_VALUE - 8,
+                (long) maxMatchLength + open.length() + close.length() + BLOCK_SIZE);
+        this.buffer = new char[Math.min(this.maxBufferSize, 2 * BLOCK_SIZE)];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null && !this.done) {
+            try {
+                this.next = this.findNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.done = this.next == null;
+        }
+
+        return this.next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        String result = this.next;
+        this.next = null;
+        return result;
+    }
+
+    private String findNext() throws IOException {
+        // Find the open tag, keeping only enough input to hold a partial one
+        int from = this.low;
+        int start;
+        while ((start = indexOf(this.buffer, from, this.high, this.open)) < 0) {
+            this.low = Math.max(this.low, this.high - (this.open.length() - 1));
+            if (!this.fill()) {
+                return null;
+            }
+            from = this.low;
+        }
+
+        this.low = start + this.open.length();
+
+        // Find the close tag, keeping the whole match so far. Once the match is too
+        // long, only a possible partial close tag is kept: an unclosed match at the
+        // end of the input is not an error, because it isn't a match at all.
+        from = this.low;
+        boolean tooLong = false;
+        int end;
+        while ((end = indexOf(this.buffer, from, this.high, this.close)) < 0) {
+            int searched = Math.max(this.low, this.high - (this.close.length() - 1));
+            if (tooLong || searched - this.low > this.maxMatchLength) {
+                tooLong = true;
+                this.low = searched;
+            }
+
+            from = searched - this.low;
+            if (!this.fill()) {
+                return null;
+            }
+            from += this.low;
+        }
+
+        if (tooLong || end - this.low > this.maxMatchLength) {
+            throw new IllegalStateException("Substring is longer than " + this.maxMatchLength + " characters.");
+        }
+
+        String match = new String(this.buffer, this.low, end - this.low);
+        this.low = end + this.close.length();
+        return match;
+    }
+
+    /**
+     * Read more input after buffer[high], first moving buffer[low..high) to the front of
+     * the buffer and growing it if that doesn't make room.
+     *
+     * @return false if there is no more input
+     */
+    private boolean fill() throws IOException {
+        if (this.endOfInput) {
+            return false;
+        }
+
+        if (this.low > 0) {
+            System.arraycopy(this.buffer, this.low, this.buffer, 0, this.high - this.low);
+            this.high -= this.low;
+            this.low = 0;
+        }
+
+        if (this.high == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, (int) Math.min(this.maxBufferSize, 2L * this.buffer.length));
+        }
+
+        int read = this.reader.read(this.buffer, this.high, this.buffer.length - this.high);
+        if (read < 0) {
+            this.endOfInput = true;
+            return false;
+        }
+
+        this.high += read;
+        return true;
+    }
+
+    private static int indexOf(char[] buffer, int from, int to, String target) {
+        char first = target.charAt(0);
+        int last = to - target.length();
+        for (int i = from; i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+
+            int j = 1;
+            while (j < target.length() && buffer[i + j] == target.charAt(j)) {
+                j++;
+            }
+
+            if (j == target.length()) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -1,4 +1,106 @@
 package test;
 
+import static main.BigNumberCalculator.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import main.BigNum;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
 public class TestBigNum {
+
+    @Test
+    public void testPlusAcrossLimbBoundary() {
+        List<Integer> left = List.of(0, 9, 9, 9, 9, 9, 9, 9, 9, 9);
+        List<Integer> right = List.of(1);
+
+        assertThat(plus(left, right)).containsExactly(1, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    public void testPlusKeepsWidthOfLongerOperand() {
+        assertThat(plus(List.of(0, 0, 1), List.of(2))).containsExactly(0, 0, 3);
+        assertThat(plus(List.of(9), List.of(1))).containsExactly(0);
+        assertThat(plus(Collections.emptyList(), Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void testPlusInvalidDigit() {
+        assertThatThrownBy(() -> plus(List.of(1, 10), List.of(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testBigNumRoundTrip() {
+        List<Integer> digits = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 1, 2, 3);
+        BigNum num = BigNum.fromDigits(digits);
+
+        assertThat(num.toString()).isEqualTo("1234567890123");
+        assertThat(num.toDigits()).isEqualTo(digits);
+        assertThat(num.digitCount()).isEqualTo(13);
+    }
+
+    @Test
+    public void testMinus() {
+        assertThat(minus(List.of(1, 0, 0, 0), List.of(1))).containsExactly(9, 9, 9);
+        assertThat(minus(List.of(4, 2), List.of(4, 2))).containsExactly(0);
+        assertThatThrownBy(() -> minus(List.of(1), List.of(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testCompare() {
+        assertThat(compare(List.of(0, 0, 7), List.of(7))).isZero();
+        assertThat(compare(List.of(1, 0), List.of(9))).isPositive();
+        assertThat(compare(List.of(9), List.of(1, 0))).isNegative();
+    }
+
+    @Test
+    public void testTimesKaratsubaMatchesSchoolbook() {
+        BigNum left = BigNum.fromDigits(Collections.nCopies(1000, 9));
+        BigNum right = BigNum.fromDigits(Collections.nCopies(700, 7));
+
+        assertThat(left.times(right, 2)).isEqualTo(left.times(right, Integer.MAX_VALUE));
+        assertThat(times(List.of(1, 2), List.of(1, 2))).containsExactly(1, 4, 4);
+    }
+
+    @Test
+    public void testDivide() {
+        assertThat(divide(List.of(1, 4, 4), List.of(1, 2))).containsExactly(1, 2);
+        assertThat(divide(List.of(7), List.of(1, 2))).containsExactly(0);
+        assertThatThrownBy(() -> divide(List.of(7), List.of(0)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void testParallelPlusMatchesSequential() {
+        BigNum nines = BigNum.fromDigits(Collections.nCopies(5000, 9));
+        BigNum one = BigNum.fromDigits(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 1));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertThat(nines.plus(one, 1, pool)).isEqualTo(nines.plus(one));
+            assertThat(nines.plus(nines, 1, pool)).isEqualTo(nines.plus(nines));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPlusFiles(@TempDir Path dir) throws IOException {
+        Path left = Files.writeString(dir.resolve("left.txt"), "9".repeat(200_000) + "\n");
+        Path right = Files.writeString(dir.resolve("right.txt"), "1");
+        Path result = dir.resolve("result.txt");
+
+        plus(left, right, result);
+
+        assertThat(Files.readString(result)).isEqualTo("1" + "0".repeat(200_000));
+    }
 }
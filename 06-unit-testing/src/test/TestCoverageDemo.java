@@ -5,7 +5,11 @@ import static main.CoverageDemo.getTriangleType;
 import static main.CoverageDemo.multiply;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import main.CoverageDemo;
+import main.RainfallAggregator;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.*;
@@ -17,4 +21,58 @@ public class TestCoverageDemo {
         assertThat(multiply(2, 2)).isEqualTo(4);
     }
 
+    @Test
+    public void testRainfallAggregatorMatchesRainfall() {
+        List<Integer> readings = List.of(3, -1, 5, 0, 999, 100);
+        RainfallAggregator aggregator = new RainfallAggregator();
+        aggregator.accept(readings.stream().mapToInt(Integer::intValue).toArray());
+
+        assertThat(aggregator.average()).isEqualTo(CoverageDemo.rainfall(readings));
+        assertThat(aggregator.getDays()).isEqualTo(3);
+        assertThat(aggregator.isStopped()).isTrue();
+    }
+
+    @Test
+    public void testRainfallAggregatorParallelMerge() {
+        int[] readings = IntStream.range(0, 100_000).map(i -> i == 60_000 ? 999 : i % 7 - 1).toArray();
+        RainfallAggregator sequential = new RainfallAggregator();
+        sequential.accept(readings);
+
+        RainfallAggregator parallel = new RainfallAggregator();
+        parallel.accept(IntStream.of(readings).parallel());
+
+        assertThat(parallel.average()).isEqualTo(sequential.average());
+        assertThat(parallel.getDays()).isEqualTo(sequential.getDays());
+    }
+
+    @Test
+    public void testClassifyTriangles() {
+        int[] side1 = {3, 2, 3, 0, 1, Integer.MAX_VALUE};
+        int[] side2 = {3, 2, 4, 1, 1, Integer.MAX_VALUE};
+        int[] side3 = {3, 3, 5, 1, 5, Integer.MAX_VALUE};
+        byte[] types = new byte[side1.length];
+
+        CoverageDemo.classifyTriangles(side1, side2, side3, types);
+
+        assertThat(types).containsExactly(
+                (byte) EQUILATERAL.ordinal(),
+                (byte) CoverageDemo.TRIANGLE_TYPE.ISOSCELES.ordinal(),
+                (byte) CoverageDemo.TRIANGLE_TYPE.SCALENE.ordinal(),
+                CoverageDemo.ILLEGAL_SIDES,
+                (byte) CoverageDemo.TRIANGLE_TYPE.INVALID.ordinal(),
+                (byte) EQUILATERAL.ordinal());
+    }
+
+    @Test
+    public void testParallelClassifyPackedTriangles() {
+        int rows = 200_000;
+        int[] sides = IntStream.range(0, 3 * rows).map(i -> i % 11).toArray();
+        byte[] sequential = new byte[rows];
+        byte[] parallel = new byte[rows];
+
+        CoverageDemo.classifyTriangles(sides, sequential);
+        CoverageDemo.parallelClassifyTriangles(sides, parallel);
+
+        assertThat(parallel).isEqualTo(sequential);
+    }
 }
@@ -1,5 +1,103 @@
 package test;
 
+import static main.StringUtils.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+import main.DelimiterAutomaton;
+import org.junit.jupiter.api.Test;
+
 public class TestStringUtils {
 
+    @Test
+    public void testSubstringsBetweenManyPairs() {
+        String str = "<a>x</a>[y]<a>z</a>";
+        String[][] result = substringsBetween(str,
+                new String[] {"<a>", "[", "{"},
+                new String[] {"</a>", "]", "}"});
+
+        assertThat(result[0]).containsExactly("x", "z");
+        assertThat(result[1]).containsExactly("y");
+        assertThat(result[2]).isNull();
+    }
+
+    @Test
+    public void testAutomatonMatchesSinglePairSearch() {
+        String[] opens = {"a", "ab", "\"", "", null};
+        String[] closes = {"b", "b", "\"", "b", "b"};
+        DelimiterAutomaton automaton = DelimiterAutomaton.compile(opens, closes);
+        String str = "aab\"q\"cabab\"\"b";
+
+        String[][] result = automaton.substringsBetween(str);
+        for (int pair = 0; pair < opens.length; pair++) {
+            assertThat(result[pair]).isEqualTo(substringsBetween(str, opens[pair], closes[pair]));
+        }
+    }
+
+    @Test
+    public void testSubstringViewsBetween() {
+        String str = "[ab][][cd]";
+
+        assertThat(substringRangesBetween(str, "[", "]")).containsExactly(1, 3, 5, 5, 7, 9);
+        assertThat(substringViewsBetween(str, "[", "]"))
+                .extracting(CharSequence::toString)
+                .containsExactly("ab", "", "cd");
+        assertThat(substringViewsBetween(str, "(", ")")).isNull();
+        assertThat(substringViewsBetween("", "(", ")")).isEmpty();
+    }
+
+    @Test
+    public void testForEachSubstringBetween() {
+        StringBuilder seen = new StringBuilder();
+        int matches = forEachSubstringBetween("<x>1</x><x>22</x>", "<x>", "</x>",
+                (start, end) -> seen.append(start).append('-').append(end).append(' '));
+
+        assertThat(matches).isEqualTo(2);
+        assertThat(seen.toString()).isEqualTo("3-4 11-13 ");
+    }
+
+    @Test
+    public void testStreamingSubstringsBetweenAcrossBuffers() {
+        String str = "x".repeat(8190) + "<tag>first</tag>" + "y".repeat(9000) + "<tag>second</tag><tag>";
+
+        try (Stream<String> matches = substringsBetween(new StringReader(str), "<tag>", "</tag>", 100)) {
+            assertThat(matches).containsExactly(substringsBetween(str, "<tag>", "</tag>"));
+        }
+    }
+
+    @Test
+    public void testStreamingSubstringsBetweenTooLong() {
+        String str = "[" + "z".repeat(50) + "]";
+
+        try (Stream<String> matches = substringsBetween(new StringReader(str), "[", "]", 10)) {
+            assertThatThrownBy(matches::count).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void testStreamingSubstringsBetweenCloseFails() {
+        Reader reader = new FilterReader(new StringReader("[" + "z".repeat(50) + "]")) {
+            @Override
+            public void close() throws IOException {
+                throw new IOException("close failed");
+            }
+        };
+
+        // A failed close is reported, but doesn't replace the exception that ended the search
+        assertThatThrownBy(() -> {
+            try (Stream<String> matches = substringsBetween(reader, "[", "]", 10)) {
+                matches.count();
+            }
+        }).isInstanceOf(IllegalStateException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+
+        assertThatThrownBy(() -> substringsBetween(reader, "[", "]", 100).close())
+                .isInstanceOf(UncheckedIOException.class);
+    }
 }
@@ -0,0 +1,167 @@
+package model.test;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A binary search tree of {@link BinarySearchNode}s that stays balanced as values are
+ * inserted, using AVL rotations: the heights of the two subtrees of every node differ
+ * by at most one. Insert and lookup walk the tree with loops rather than recursion,
+ * so neither is limited by the depth of the call stack.
+ */
+public class BalancedBinarySearchTree {
+
+    private BinarySearchNode root;
+    private int size;
+
+    public BalancedBinarySearchTree() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    /**
+     * Build a tree from the given values, the same way as
+     * {@link BinarySearchNode#BinarySearchNode(List)}. That tree is already balanced.
+     *
+     * @param values The values to put in the tree; this list is sorted in place
+     */
+    public BalancedBinarySearchTree(List<Integer> values) {
+        if (values == null || values.isEmpty()) {
+            this.root = null;
+            this.size = 0;
+        } else {
+            this.root = new BinarySearchNode(values);
+            this.size = values.size();
+        }
+    }
+
+    public BinarySearchNode getRoot() {
+        return this.root;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Insert the given value, then rotate nodes on the path back up to the root
+     * wherever they have become unbalanced. As with {@link BinarySearchNode#insert},
+     * a value equal to a node's value goes into its left subtree.
+     *
+     * @param value The value to insert
+     */
+    public void insert(int value) {
+        BinarySearchNode node = new BinarySearchNode(value, null, null);
+        this.size++;
+        if (this.root == null) {
+            this.root = node;
+            return;
+        }
+
+        // The path down to the new node is no longer than the root's height
+        BinarySearchNode[] path = new BinarySearchNode[this.root.getHeight()];
+        int[] oldHeights = new int[path.length];
+        int depth = 0;
+        BinarySearchNode current = this.root;
+        while (current != null) {
+            oldHeights[depth] = current.getHeight();
+            path[depth++] = current;
+            current = current.getValue() >= value ? current.getLeft() : current.getRight();
+        }
+
+        BinarySearchNode parent = path[depth - 1];
+        if (parent.getValue() >= value) {
+            parent.setLeft(node);
+        } else {
+            parent.setRight(node);
+        }
+
+        for (int i = depth - 1; i >= 0; i--) {
+            path[i].updateHeight();
+            BinarySearchNode balanced = rebalance(path[i]);
+
+            if (i == 0) {
+                this.root = balanced;
+            } else if (path[i - 1].getLeft() == path[i]) {
+                path[i - 1].setLeft(balanced);
+            } else {
+                path[i - 1].setRight(balanced);
+            }
+
+            // Nothing above here can have changed height
+            if (balanced.getHeight() == oldHeights[i]) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @param value The value to look for
+     * @return True if some node in the tree holds the value
+     */
+    public boolean contains(int value) {
+        BinarySearchNode current = this.root;
+        while (current != null) {
+            if (current.getValue() == value) {
+                return true;
+            }
+            current = current.getValue() > value ? current.getLeft() : current.getRight();
+        }
+
+        return false;
+    }
+
+    private static BinarySearchNode rebalance(BinarySearchNode node) {
+        int balance = BinarySearchNode.height(node.getLeft()) - BinarySearchNode.height(node.getRight());
+        if (balance > 1) {
+            BinarySearchNode left = node.getLeft();
+            if (BinarySearchNode.height(left.getLeft()) < BinarySearchNode.height(left.getRight())) {
+                node.setLeft(rotateLeft(left));
+            }
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            BinarySearchNode right = node.getRight();
+            if (BinarySearchNode.height(right.getRight()) < BinarySearchNode.height(right.getLeft())) {
+                node.setRight(rotateRight(right));
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static BinarySearchNode rotateRight(BinarySearchNode node) {
+        BinarySearchNode pivot = node.getLeft();
+        node.setLeft(pivot.getRight());
+        pivot.setRight(node);
+        return pivot;
+    }
+
+    private static BinarySearchNode rotateLeft(BinarySearchNode node) {
+        BinarySearchNode pivot = node.getRight();
+        node.setRight(pivot.getLeft());
+        pivot.setLeft(node);
+        return pivot;
+    }
+
+    @Override
+    public String toString() {
+        return this.root == null ? "" : this.root.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof BalancedBinarySearchTree otherTree) {
+            return Objects.equals(this.root, otherTree.root);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.root);
+    }
+}
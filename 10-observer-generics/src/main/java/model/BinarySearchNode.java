@@ -1,19 +1,38 @@
 package model.test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
-import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 public class BinarySearchNode {
 
+    // Below this many nodes, insertAll rebuilds a subtree on the calling thread
+    static final int PARALLEL_BUILD_THRESHOLD = 1 << 14;
+
     private int value;
     private BinarySearchNode left;
     private BinarySearchNode right;
+    private int height;
 
     public BinarySearchNode(int value, BinarySearchNode left, BinarySearchNode right) {
         this.value = value;
         this.left = left;
         this.right = right;
+        this.updateHeight();
     }
 
     public int getValue() {
@@ -28,39 +47,267 @@ public class BinarySearchNode {
         return this.right;
     }
 
-    private StringBuilder stringRep(int level) {
-        return new StringBuilder("_".repeat(level) + this.value + "\n")
-                .append(this.left == null ?
-                        "_".repeat(level + 1) + "\n" :
-                        this.left.stringRep(level + 1))
-                .append(this.right == null ?
-                        "_".repeat(level + 1) + "\n" :
-                        this.right.stringRep(level + 1));
+    /**
+     * @return The number of nodes on the longest path from this node down to a leaf
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    static int height(BinarySearchNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    void setLeft(BinarySearchNode left) {
+        this.left = left;
+        this.updateHeight();
+    }
+
+    void setRight(BinarySearchNode right) {
+        this.right = right;
+        this.updateHeight();
+    }
+
+    void updateHeight() {
+        this.height = Math.max(height(this.left), height(this.right)) + 1;
+    }
+
+    /**
+     * @param value The value to look for
+     * @return Whether some node in this subtree holds value
+     */
+    public boolean contains(int value) {
+        BinarySearchNode current = this;
+        while (current != null && current.value != value) {
+            current = current.value > value ? current.left : current.right;
+        }
+
+        return current != null;
+    }
+
+    /**
+     * @param value The upper bound
+     * @return The greatest value in this subtree that is less than or equal to value
+     */
+    public OptionalInt floor(int value) {
+        OptionalInt result = OptionalInt.empty();
+        BinarySearchNode current = this;
+        while (current != null) {
+            if (current.value <= value) {
+                result = OptionalInt.of(current.value);
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @param value The lower bound
+     * @return The least value in this subtree that is greater than or equal to value
+     */
+    public OptionalInt ceiling(int value) {
+        OptionalInt result = OptionalInt.empty();
+        BinarySearchNode current = this;
+        while (current != null) {
+            if (current.value >= value) {
+                result = OptionalInt.of(current.value);
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The values in this subtree in ascending order, found as they are needed
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new InOrderIterator(this, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The values in this subtree between lo and hi, inclusive, in ascending order.
+     * Subtrees that are entirely out of range are never visited, so walking the
+     * result costs O(height + number of values in range).
+     *
+     * @param lo The smallest value to include
+     * @param hi The largest value to include
+     * @return An iterator over the values in range
+     */
+    public PrimitiveIterator.OfInt range(int lo, int hi) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("lo must not be greater than hi.");
+        }
+
+        return new InOrderIterator(this, lo, hi);
+    }
+
+    /**
+     * A spliterator over the values in this subtree in ascending order. Splitting
+     * hands off the left subtree, so a parallel stream gets its work in pieces that
+     * follow the shape of the tree.
+     */
+    public Spliterator.OfInt spliterator() {
+        return new SubtreeSpliterator(this);
+    }
+
+    /**
+     * @param parallel Whether the stream should be parallel
+     * @return A stream of the values in this subtree in ascending order
+     */
+    public IntStream stream(boolean parallel) {
+        return StreamSupport.intStream(this.spliterator(), parallel);
+    }
+
+    /**
+     * Write the same text as {@link #toString()} to {@code out}: a pre-order listing with
+     * one line per node, and one per missing child, each indented by its depth in
+     * underscores. The tree is walked with an explicit stack, so deep trees are fine.
+     *
+     * @param out Where to write the listing
+     * @throws IOException if out does
+     */
+    public void appendTo(Appendable out) throws IOException {
+        BinarySearchNode[] nodes = {this};
+        int[] levels = {0};
+        int size = 1;
+        String underscores = "";
+
+        while (size > 0) {
+            size--;
+            BinarySearchNode node = nodes[size];
+            int level = levels[size];
+
+            if (level > underscores.length()) {
+                underscores = "_".repeat(Math.max(level, 2 * underscores.length()));
+            }
+            out.append(underscores, 0, level);
+
+            if (node == null) {
+                out.append('\n');
+                continue;
+            }
+            out.append(Integer.toString(node.value)).append('\n');
+
+            if (size + 2 > nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length + 2);
+                levels = Arrays.copyOf(levels, nodes.length);
+            }
+
+            // The left child is listed first, so it goes on the stack last
+            nodes[size] = node.right;
+            levels[size++] = level + 1;
+            nodes[size] = node.left;
+            levels[size++] = level + 1;
+        }
     }
 
     @Override
     public String toString() {
-        return this.stringRep(0).toString();
+        StringBuilder result = new StringBuilder();
+        try {
+            this.appendTo(result);
+        } catch (IOException e) {
+            // StringBuilder doesn't throw IOException
+            throw new UncheckedIOException(e);
+        }
+
+        return result.toString();
     }
 
     @Override
     public boolean equals(Object other) {
-        if (other == null) {
-           return false;
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof BinarySearchNode otherNode)) {
+            return false;
         }
 
-        if (other instanceof BinarySearchNode otherNode) {
-            return otherNode.value == otherNode.getValue()
-            && Objects.equals(this.left, otherNode.getLeft())
-                    && Objects.equals(this.right, otherNode.getRight());
+        // Walk both trees in step; only non-null pairs are pushed
+        Deque<BinarySearchNode> mine = new ArrayDeque<>();
+        Deque<BinarySearchNode> theirs = new ArrayDeque<>();
+        mine.push(this);
+        theirs.push(otherNode);
+
+        while (!mine.isEmpty()) {
+            BinarySearchNode a = mine.pop();
+            BinarySearchNode b = theirs.pop();
+            if (a == b) {
+                continue;
+            }
+
+            if (a.value != b.value
+                    || (a.left == null) != (b.left == null)
+                    || (a.right == null) != (b.right == null)) {
+                return false;
+            }
+
+            if (a.left != null) {
+                mine.push(a.left);
+                theirs.push(b.left);
+            }
+            if (a.right != null) {
+                mine.push(a.right);
+                theirs.push(b.right);
+            }
         }
 
-        return false;
+        return true;
     }
 
+    /**
+     * The same value as {@code Objects.hash(value, left, right)}, but computed without
+     * recursion or boxing. Nothing is cached, since a subtree can be changed through
+     * a handle to it that its ancestors never hear about.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(this.value, this.left, this.right);
+        // A post-order walk: a node is hashed once both of its children's hashes are
+        // on top of the hash stack
+        BinarySearchNode[] nodes = {this};
+        boolean[] expanded = {false};
+        int size = 1;
+        int[] hashes = new int[16];
+        int hashCount = 0;
+
+        while (size > 0) {
+            BinarySearchNode node = nodes[size - 1];
+            if (!expanded[size - 1]) {
+                expanded[size - 1] = true;
+                if (size + 2 > nodes.length) {
+                    nodes = Arrays.copyOf(nodes, 2 * nodes.length + 2);
+                    expanded = Arrays.copyOf(expanded, nodes.length);
+                }
+
+                // The left child is hashed first, so it goes on the stack last
+                if (node.right != null) {
+                    nodes[size] = node.right;
+                    expanded[size++] = false;
+                }
+                if (node.left != null) {
+                    nodes[size] = node.left;
+                    expanded[size++] = false;
+                }
+                continue;
+            }
+
+            size--;
+            int rightHash = node.right == null ? 0 : hashes[--hashCount];
+            int leftHash = node.left == null ? 0 : hashes[--hashCount];
+            if (hashCount == hashes.length) {
+                hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+            }
+            hashes[hashCount++] = ((31 + node.value) * 31 + leftHash) * 31 + rightHash;
+        }
+
+        return hashes[0];
     }
 
     /**
@@ -79,9 +326,69 @@ public class BinarySearchNode {
                     node : this.right.insert(node);
         }
 
+        this.updateHeight();
         return this;
     }
 
+    /**
+     * Insert every value in a sorted batch into the subtree rooted by this
+     * BinarySearchNode. Rather than inserting one value at a time, the current values
+     * are merged with the batch in one linear pass and the subtree is rebuilt, balanced,
+     * the same way the {@link #BinarySearchNode(List)} constructor builds one. Large
+     * rebuilds are split across the common fork-join pool.
+     *
+     * @param sorted The values to insert, in ascending order
+     * @return The subtree resulting from this insert operation
+     * @throws IllegalArgumentException if sorted isn't in ascending order
+     */
+    public BinarySearchNode insertAll(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("The batch must be sorted in ascending order.");
+            }
+        }
+
+        if (sorted.length == 0) {
+            return this;
+        }
+
+        int[] current = this.toSortedArray();
+        int[] merged = new int[current.length + sorted.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            if (j == sorted.length || (i < current.length && current[i] <= sorted[j])) {
+                merged[k] = current[i++];
+            } else {
+                merged[k] = sorted[j++];
+            }
+        }
+
+        BuildTask build = new BuildTask(merged, 0, merged.length);
+        BinarySearchNode constructed = merged.length < PARALLEL_BUILD_THRESHOLD ?
+                build.compute() : ForkJoinPool.commonPool().invoke(build);
+
+        this.value = constructed.value;
+        this.left = constructed.left;
+        this.right = constructed.right;
+        this.updateHeight();
+        return this;
+    }
+
+    private int[] toSortedArray() {
+        int[] values = new int[16];
+        int size = 0;
+        PrimitiveIterator.OfInt it = this.iterator();
+        while (it.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = it.nextInt();
+        }
+
+        return Arrays.copyOf(values, size);
+    }
+
     public BinarySearchNode(List<Integer> values) {
         if (values != null && !values.isEmpty()) {
             Collections.sort(values);
@@ -92,6 +399,8 @@ public class BinarySearchNode {
                 this.right = constructed.right;
             }
         }
+
+        this.updateHeight();
     }
 
     private static BinarySearchNode buildTree(List<Integer> values, int low, int high) {
@@ -105,4 +414,156 @@ public class BinarySearchNode {
         BinarySearchNode right = buildTree(values, mid + 1, high);
         return new BinarySearchNode(values.get(mid), left, right);
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the subtree for values[low..high) with the same midpoints as
+     * {@link #buildTree(List, int, int)}, forking the left half when both halves are big.
+     */
+    private static class BuildTask extends RecursiveTask<BinarySearchNode> {
+        private final int[] values;
+        private final int low;
+        private final int high;
+
+        BuildTask(int[] values, int low, int high) {
+            this.values = values;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected BinarySearchNode compute() {
+            if (this.low >= this.high) {
+                return null;
+            }
+
+            int mid = (this.low + this.high) / 2;
+            BuildTask left = new BuildTask(this.values, this.low, mid);
+            BuildTask right = new BuildTask(this.values, mid + 1, this.high);
+            if (this.high - this.low < PARALLEL_BUILD_THRESHOLD || !inForkJoinPool()) {
+                return new BinarySearchNode(this.values[mid], left.compute(), right.compute());
+            }
+
+            left.fork();
+            BinarySearchNode rightTree = right.compute();
+            return new BinarySearchNode(this.values[mid], left.join(), rightTree);
+        }
+    }
+
+    /**
+     * An in-order walk that keeps the path to the next value on a stack, skipping
+     * any subtree that lies outside [lo, hi].
+     */
+    private static class InOrderIterator implements PrimitiveIterator.OfInt {
+        private final Deque<BinarySearchNode> stack = new ArrayDeque<>();
+        private final int lo;
+        private final int hi;
+
+        InOrderIterator(BinarySearchNode root, int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+            this.pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(BinarySearchNode node) {
+            while (node != null) {
+                if (node.value < this.lo) {
+                    node = node.right;
+                } else {
+                    this.stack.push(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!this.stack.isEmpty() && this.stack.peek().value > this.hi) {
+                // Everything left is larger still
+                this.stack.clear();
+            }
+
+            return !this.stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            BinarySearchNode node = this.stack.pop();
+            this.pushLeftSpine(node.right);
+            return node.value;
+        }
+    }
+
+    /**
+     * Until traversal starts, the values still to come are an optional leading value
+     * followed by one whole subtree. That subtree can be split into its left subtree,
+     * handed off with the leading value, and its own value followed by its right subtree.
+     */
+    private static class SubtreeSpliterator implements Spliterator.OfInt {
+        private boolean hasLead = false;
+        private int lead;
+        private BinarySearchNode subtree;
+        private InOrderIterator walk;
+
+        SubtreeSpliterator(BinarySearchNode subtree) {
+            this.subtree = subtree;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (this.hasLead) {
+                this.hasLead = false;
+                action.accept(this.lead);
+                return true;
+            }
+
+            if (this.walk == null) {
+                this.walk = new InOrderIterator(this.subtree, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                this.subtree = null;
+            }
+
+            if (!this.walk.hasNext()) {
+                return false;
+            }
+
+            action.accept(this.walk.nextInt());
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (this.walk != null || this.subtree == null || this.subtree.left == null) {
+                return null;
+            }
+
+            SubtreeSpliterator prefix = new SubtreeSpliterator(this.subtree.left);
+            prefix.hasLead = this.hasLead;
+            prefix.lead = this.lead;
+
+            this.hasLead = true;
+            this.lead = this.subtree.value;
+            this.subtree = this.subtree.right;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            // The tree doesn't track sizes, so this is the most a subtree of its height can hold
+            int height = this.walk != null ? this.walk.stack.size() : height(this.subtree);
+            return (1L << Math.min(height, 62)) - 1 + (this.hasLead ? 1 : 0);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package model;
 
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+
 import java.util.Objects;
 
+/**
+ * A name bound to a value. Bindings are identified by their name, which can't change,
+ * so a binding can safely be kept in a hashed collection while its value changes.
+ */
 public class Binding {
-    private String name;
+    private final String name;
     private double value;
 
+    // Created the first time a view asks for them; the value property is then used
+    // in place of the field
+    private ReadOnlyStringProperty nameProperty;
+    private DoubleProperty valueProperty;
+
     public Binding(String name, double value) {
         this.name = Objects.requireNonNull(name);
         this.value = value;
@@ -15,15 +29,53 @@ public class Binding {
         return this.name;
     }
 
-    public void setName(String name) {
-        this.name = name;
-    }
-
     public double getValue() {
-        return this.value;
+        return this.valueProperty == null ? this.value : this.valueProperty.get();
     }
 
     public void setValue(double value) {
-        this.value = value;
+        if (this.valueProperty == null) {
+            this.value = value;
+        } else {
+            this.valueProperty.set(value);
+        }
+    }
+
+    /**
+     * @return The same property every time, so table cells can observe it
+     * instead of wrapping the name on every render
+     */
+    public ReadOnlyStringProperty nameProperty() {
+        if (this.nameProperty == null) {
+            this.nameProperty = new ReadOnlyStringWrapper(this, "name", this.name).getReadOnlyProperty();
+        }
+
+        return this.nameProperty;
+    }
+
+    /**
+     * @return The same property every time, so table cells can observe it
+     * instead of wrapping the value on every render
+     */
+    public DoubleProperty valueProperty() {
+        if (this.valueProperty == null) {
+            this.valueProperty = new SimpleDoubleProperty(this, "value", this.value);
+        }
+
+        return this.valueProperty;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        return other instanceof Binding otherBinding && this.name.equals(otherBinding.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.name.hashCode();
     }
 }
@@ -0,0 +1,83 @@
+package model;
+
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+/**
+ * Keeps an {@link ObservableList} of rows in step with an {@link Environment} by
+ * applying only what changed: each notification adds the new bindings in one change,
+ * removes the unbound ones in another, and updates the value property of each
+ * existing row in place. Rows for unchanged bindings are never touched, so a view of
+ * the list only redraws what it has to.
+ *
+ * <p>Rows must only be added or removed through this updater, and it must run on the
+ * thread that owns the list: for a TableView, build the environment with
+ * {@code Platform::runLater}.</p>
+ */
+public class BindingListUpdater implements EnvironmentListener {
+    private final ObservableList<Binding> rows;
+    private final Map<String, Binding> rowsByName = new HashMap<>();
+
+    private BindingListUpdater(ObservableList<Binding> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Add a row for every binding already in the environment, and keep the rows
+     * up to date from then on.
+     *
+     * @param environment The environment to show
+     * @param rows The list to keep up to date, which must start out empty
+     * @return The listener now registered with environment
+     */
+    public static BindingListUpdater attach(Environment environment, ObservableList<Binding> rows) {
+        if (!rows.isEmpty()) {
+            throw new IllegalArgumentException("The list of rows must start out empty.");
+        }
+
+        BindingListUpdater updater = new BindingListUpdater(rows);
+        environment.addListener(updater);
+
+        List<Binding> bindings = environment.getBindings();
+        for (Binding binding : bindings) {
+            updater.rowsByName.put(binding.getName(), binding);
+        }
+        rows.addAll(bindings);
+        return updater;
+    }
+
+    @Override
+    public void environmentChanged(Environment source, Set<String> names) {
+        List<Binding> added = new ArrayList<>();
+        Set<Binding> removed = new HashSet<>();
+
+        for (String name : names) {
+            OptionalDouble value = source.getValue(name);
+            Binding row = this.rowsByName.get(name);
+            if (value.isPresent() && row != null) {
+                row.setValue(value.getAsDouble());
+            } else if (value.isPresent()) {
+                row = new Binding(name, value.getAsDouble());
+                this.rowsByName.put(name, row);
+                added.add(row);
+            } else if (row != null) {
+                this.rowsByName.remove(name);
+                removed.add(row);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            this.rows.removeAll(removed);
+        }
+        if (!added.isEmpty()) {
+            this.rows.addAll(added);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Reads bindings from text with one {@code name = value} per line. Blank lines and
+ * lines starting with {@code #} are skipped.
+ */
+public class BindingReader implements Closeable {
+    private final BufferedReader reader;
+    private long lineNumber = 0;
+    private long charsRead = 0;
+
+    public BindingReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Read up to max bindings into batch.
+     *
+     * @param batch Where to put the bindings, replacing any earlier value for the same name
+     * @param max The most bindings to read
+     * @return The number of bindings read, which is less than max only at the end of the input
+     * @throws IOException if the underlying reader does
+     * @throws IllegalArgumentException if a line isn't a binding
+     */
+    public int read(Map<String, Double> batch, int max) throws IOException {
+        int count = 0;
+        String line;
+        while (count < max && (line = this.reader.readLine()) != null) {
+            this.lineNumber++;
+            this.charsRead += line.length() + 1;
+
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+
+            int equals = trimmed.indexOf('=');
+            String name = equals < 0 ? "" : trimmed.substring(0, equals).strip();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Line " + this.lineNumber + " isn't a binding: " + line);
+            }
+
+            try {
+                batch.put(name, Double.parseDouble(trimmed.substring(equals + 1).strip()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + this.lineNumber + " has a bad value: " + line, e);
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * @return Roughly how much of the input has been read, counting a line break as one character
+     */
+    public long getCharsRead() {
+        return this.charsRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
@@ -0,0 +1,114 @@
+package model.test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * A binary search tree of ints that any number of threads can read and insert into
+ * at the same time.
+ *
+ * <p>Nodes are never removed or moved, and a node's value never changes, so a
+ * lookup can follow child links without taking any locks: it sees each link either
+ * before or after an insert sets it. An insert also finds its place without locking,
+ * then locks only the node it attaches to, and re-checks that the child slot is
+ * still empty. If another writer filled the slot first, the insert carries on down
+ * from the new child.</p>
+ */
+public class ConcurrentBinarySearchTree {
+
+    private static class Node {
+        private final int value;
+        private volatile Node left;
+        private volatile Node right;
+
+        Node(int value) {
+            this.value = value;
+        }
+    }
+
+    private final Node sentinel = new Node(0);
+    private final AtomicInteger size = new AtomicInteger();
+
+    // The root hangs off the sentinel's left link, so even the first
+    // insert has a node to lock.
+    private Node root() {
+        return this.sentinel.left;
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * As with {@link BinarySearchNode#insert}, a value equal to a node's value goes
+     * into its left subtree.
+     *
+     * @param value The value to insert
+     */
+    public void insert(int value) {
+        Node node = new Node(value);
+        Node parent = this.sentinel;
+        boolean goLeft = true;
+
+        while (true) {
+            Node child = goLeft ? parent.left : parent.right;
+            if (child == null) {
+                synchronized (parent) {
+                    child = goLeft ? parent.left : parent.right;
+                    if (child == null) {
+                        if (goLeft) {
+                            parent.left = node;
+                        } else {
+                            parent.right = node;
+                        }
+                        this.size.incrementAndGet();
+                        return;
+                    }
+                }
+            }
+
+            parent = child;
+            goLeft = parent.value >= value;
+        }
+    }
+
+    /**
+     * @param value The value to look for
+     * @return True if an insert of the value has completed before this call, or
+     * completes during it
+     */
+    public boolean contains(int value) {
+        Node current = this.root();
+        while (current != null) {
+            if (current.value == value) {
+                return true;
+            }
+            current = current.value > value ? current.left : current.right;
+        }
+
+        return false;
+    }
+
+    /**
+     * Visit every value in ascending order, without recursion. Values inserted
+     * while this runs may or may not be visited.
+     *
+     * @param action What to do with each value
+     */
+    public void forEachInOrder(IntConsumer action) {
+        Deque<Node> stack = new ArrayDeque<>();
+        Node current = this.root();
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+
+            current = stack.pop();
+            action.accept(current.value);
+            current = current.right;
+        }
+    }
+}
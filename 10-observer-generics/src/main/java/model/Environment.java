@@ -0,0 +1,139 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * A set of {@link Binding}s keyed by name that tells its listeners when it changes.
+ *
+ * <p>Changes aren't reported one at a time. The first change after a notification
+ * schedules the next one on the notifier, and every change made before it runs is
+ * reported in that single notification. With {@code Platform::runLater} as the
+ * notifier, that is at most one event per JavaFX pulse however fast the
+ * environment is updated, and listeners always run on the FX application thread.</p>
+ *
+ * <p>An environment may be updated from any thread.</p>
+ */
+public class Environment {
+    private final Map<String, Binding> bindings = new LinkedHashMap<>();
+    private final List<EnvironmentListener> listeners = new CopyOnWriteArrayList<>();
+    private final Executor notifier;
+
+    // The names changed since the last notification was scheduled, or null if none is
+    private Set<String> pending;
+
+    /**
+     * @param notifier Runs the notifications, e.g. {@code Platform::runLater}
+     */
+    public Environment(Executor notifier) {
+        this.notifier = Objects.requireNonNull(notifier);
+    }
+
+    public void addListener(EnvironmentListener listener) {
+        this.listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(EnvironmentListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Bind name to value, adding a binding if there isn't one.
+     *
+     * @param name The name to bind
+     * @param value Its new value
+     */
+    public synchronized void setValue(String name, double value) {
+        Binding binding = this.bindings.get(name);
+        if (binding == null) {
+            this.bindings.put(name, new Binding(name, value));
+        } else if (Double.compare(binding.getValue(), value) != 0) {
+            binding.setValue(value);
+        } else {
+            return;
+        }
+
+        this.changed(name);
+    }
+
+    /**
+     * Bind every name in values, as if by {@link #setValue(String, double)} but with
+     * the environment locked only once.
+     *
+     * @param values The names to bind, and their new values
+     */
+    public synchronized void setValues(Map<String, Double> values) {
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            this.setValue(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @param name The name to unbind
+     * @return Whether there was a binding for name
+     */
+    public synchronized boolean remove(String name) {
+        if (this.bindings.remove(name) == null) {
+            return false;
+        }
+
+        this.changed(name);
+        return true;
+    }
+
+    public synchronized OptionalDouble getValue(String name) {
+        Binding binding = this.bindings.get(name);
+        return binding == null ? OptionalDouble.empty() : OptionalDouble.of(binding.getValue());
+    }
+
+    public synchronized boolean contains(String name) {
+        return this.bindings.containsKey(name);
+    }
+
+    public synchronized int size() {
+        return this.bindings.size();
+    }
+
+    /**
+     * @return A copy of every binding, in the order they were added
+     */
+    public synchronized List<Binding> getBindings() {
+        List<Binding> result = new ArrayList<>(this.bindings.size());
+        for (Binding binding : this.bindings.values()) {
+            result.add(new Binding(binding.getName(), binding.getValue()));
+        }
+
+        return result;
+    }
+
+    private void changed(String name) {
+        if (this.pending == null) {
+            this.pending = new LinkedHashSet<>();
+            this.pending.add(name);
+            this.notifier.execute(this::notifyListeners);
+        } else {
+            this.pending.add(name);
+        }
+    }
+
+    private void notifyListeners() {
+        Set<String> names;
+        synchronized (this) {
+            names = Collections.unmodifiableSet(this.pending);
+            this.pending = null;
+        }
+
+        for (EnvironmentListener listener : this.listeners) {
+            listener.environmentChanged(this, names);
+        }
+    }
+}
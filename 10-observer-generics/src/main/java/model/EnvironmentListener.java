@@ -0,0 +1,19 @@
+package model;
+
+import java.util.Set;
+
+/**
+ * Observes an {@link Environment}.
+ */
+@FunctionalInterface
+public interface EnvironmentListener {
+
+    /**
+     * Called once for a burst of changes to the environment.
+     *
+     * @param source The environment that changed
+     * @param names The names of the bindings that were added, updated or removed
+     *              since the previous call, in the order they first changed
+     */
+    void environmentChanged(Environment source, Set<String> names);
+}
@@ -0,0 +1,72 @@
+package model.test;
+
+import java.util.List;
+
+/**
+ * A read-only set of ints laid out in one array in Eytzinger (breadth-first) order:
+ * the root is at index 1 and the children of index k are at 2k and 2k + 1. Like a tree
+ * built by {@link BinarySearchNode#BinarySearchNode(List)} it is balanced, but it has no
+ * per-node objects to chase, and the top levels of every search share the same few
+ * cache lines.
+ */
+public class EytzingerSearchTree {
+
+    // Index 0 is unused so that the children of k are 2k and 2k + 1
+    private final int[] values;
+
+    /**
+     * @param values The values to put in the tree; the list is not modified
+     */
+    public EytzingerSearchTree(List<Integer> values) {
+        int[] sorted = values.stream().mapToInt(Integer::intValue).sorted().toArray();
+        this.values = new int[sorted.length + 1];
+
+        this.fill(sorted, 0, 1);
+    }
+
+    /**
+     * An in-order walk of the implicit tree visits the slots in sorted order. The
+     * recursion is only as deep as the tree, which is log2(n).
+     *
+     * @return The index in sorted of the next value to place
+     */
+    private int fill(int[] sorted, int next, int k) {
+        if (k < this.values.length) {
+            next = this.fill(sorted, next, 2 * k);
+            this.values[k] = sorted[next++];
+            next = this.fill(sorted, next, 2 * k + 1);
+        }
+
+        return next;
+    }
+
+    public int size() {
+        return this.values.length - 1;
+    }
+
+    /**
+     * @param value The value to look for
+     * @return True if the value is in the tree
+     */
+    public boolean contains(int value) {
+        int k = this.lowerBound(value);
+        return k != 0 && this.values[k] == value;
+    }
+
+    /**
+     * Descends the whole height of the tree without data-dependent branches: each
+     * step picks the left or right child arithmetically.
+     *
+     * @return The index of the smallest value that is >= value, or 0 if there is none
+     */
+    private int lowerBound(int value) {
+        int k = 1;
+        int n = this.values.length;
+        while (k < n) {
+            k = 2 * k + (this.values[k] < value ? 1 : 0);
+        }
+
+        // Undo the trailing right turns, and the left turn before them
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+}
@@ -0,0 +1,73 @@
+package observer;
+
+import javafx.concurrent.Task;
+import model.BindingReader;
+import model.Environment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads a binding file into an {@link Environment} off the FX application thread.
+ *
+ * <p>The file is read in batches, each applied to the environment with one
+ * {@link Environment#setValues(Map)}. The environment hands changes to the FX thread
+ * with at most one {@code Platform.runLater} per pulse, however fast batches arrive,
+ * so the window stays responsive while a large file loads. Progress is the fraction of
+ * the file read so far. Cancelling stops the load after the current batch; the
+ * bindings already loaded are kept.</p>
+ *
+ * <p>The value of the task is the number of bindings read.</p>
+ */
+public class EnvironmentLoader extends Task<Integer> {
+    static final int BATCH_SIZE = 10_000;
+
+    private final Environment environment;
+    private final Path file;
+
+    public EnvironmentLoader(Environment environment, Path file) {
+        this.environment = environment;
+        this.file = file;
+    }
+
+    /**
+     * Start loading on a new daemon thread.
+     *
+     * @return This loader
+     */
+    public EnvironmentLoader start() {
+        Thread thread = new Thread(this, "Environment loader");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    @Override
+    protected Integer call() throws Exception {
+        long size = Math.max(1, Files.size(this.file));
+        int total = 0;
+
+        try (BindingReader reader = new BindingReader(Files.newBufferedReader(this.file, StandardCharsets.UTF_8))) {
+            Map<String, Double> batch = new LinkedHashMap<>();
+            int read;
+            do {
+                if (this.isCancelled()) {
+                    break;
+                }
+
+                batch.clear();
+                read = reader.read(batch, BATCH_SIZE);
+                this.environment.setValues(batch);
+                total += read;
+
+                this.updateProgress(Math.min(reader.getCharsRead(), size), size);
+                this.updateMessage("Loaded " + total + " bindings");
+            } while (read == BATCH_SIZE);
+        }
+
+        return total;
+    }
+}
@@ -6,6 +6,8 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 
 public class HelloApplication extends Application {
     @Override
@@ -15,9 +17,22 @@ public class HelloApplication extends Application {
         stage.setTitle("Hello!");
         stage.setScene(scene);
         stage.show();
+
+        // Load the environment from a file named on the command line, if there is one
+        List<String> args = this.getParameters().getRaw();
+        if (!args.isEmpty()) {
+            HelloController controller = fxmlLoader.getController();
+            EnvironmentLoader loader = controller.load(Path.of(args.get(0)));
+            stage.titleProperty().bind(loader.messageProperty());
+            stage.setOnCloseRequest(e -> loader.cancel());
+            loader.setOnFailed(e -> {
+                stage.titleProperty().unbind();
+                stage.setTitle("Couldn't load " + args.get(0) + ": " + loader.getException().getMessage());
+            });
+        }
     }
 
     public static void main(String[] args) {
-        launch();
+        launch(args);
     }
 }
\ No newline at end of file
@@ -1,13 +1,14 @@
 package observer;
 
-import javafx.beans.property.*;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import model.Binding;
+import model.BindingListUpdater;
+import model.Environment;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.file.Path;
 
 public class HelloController {
     @FXML
@@ -17,24 +18,34 @@ public class HelloController {
     private TableColumn<Binding, String> nameCol;
 
     @FXML
-    private TableColumn<Binding, Double> valCol;
+    private TableColumn<Binding, Number> valCol;
 
-    private Set<Binding> environment;
+    private Environment environment;
 
     public void initialize() {
        // What if we wanted to "inject" an environment that already
        // exists?
-        this.environment = new HashSet<>();
+        this.environment = new Environment(Platform::runLater);
 
-        // Add some bindings to the map
-        this.environment.add(new Binding("a", 3.1));
-        this.environment.add(new Binding("b", 9.3));
-        this.environment.add(new Binding("c", 7e-8));
+        this.nameCol.setCellValueFactory(e -> e.getValue().nameProperty());
+        this.valCol.setCellValueFactory(e -> e.getValue().valueProperty());
 
-        // Manually populate the TableView with the map contents
-        this.nameCol.setCellValueFactory(e -> new ReadOnlyStringWrapper(e.getValue().getName()));
-        this.valCol.setCellValueFactory(e -> new SimpleDoubleProperty(e.getValue().getValue()).asObject());
+        // Apply only what changed to the TableView, at most once per pulse
+        BindingListUpdater.attach(this.environment, this.envTable.getItems());
 
-        this.envTable.getItems().addAll(this.environment);
+        // Add some bindings to the environment
+        this.environment.setValue("a", 3.1);
+        this.environment.setValue("b", 9.3);
+        this.environment.setValue("c", 7e-8);
     }
-}
\ No newline at end of file
+
+    /**
+     * Load a binding file into the environment in the background.
+     *
+     * @param file The file to load, with one {@code name = value} per line
+     * @return The running loader, for its progress or to cancel it
+     */
+    public EnvironmentLoader load(Path file) {
+        return new EnvironmentLoader(this.environment, file).start();
+    }
+}
@@ -0,0 +1,50 @@
+package model;
+
+import model.test.BalancedBinarySearchTree;
+import model.test.BinarySearchNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BalancedBinarySearchTreeTest {
+
+    @Test
+    void testBuildTreeMatchesBinarySearchNode() {
+        List<Integer> values = Arrays.asList(5, 8, 1, 0, 3);
+        BalancedBinarySearchTree tree = new BalancedBinarySearchTree(values);
+
+        assertThat(tree.getRoot()).isEqualTo(new BinarySearchNode(new ArrayList<>(values)));
+        assertThat(tree.toString()).isEqualTo(new BinarySearchNode(new ArrayList<>(values)).toString());
+    }
+
+    @Test
+    void testInsertSortedRotates() {
+        BalancedBinarySearchTree tree = new BalancedBinarySearchTree();
+        tree.insert(1);
+        tree.insert(2);
+        tree.insert(3);
+
+        BinarySearchNode expected = new BinarySearchNode(2,
+                new BinarySearchNode(1, null, null),
+                new BinarySearchNode(3, null, null));
+
+        assertThat(tree.getRoot()).isEqualTo(expected);
+    }
+
+    @Test
+    void testInsertManySortedStaysShallow() {
+        BalancedBinarySearchTree tree = new BalancedBinarySearchTree();
+        for (int i = 0; i < 100_000; i++) {
+            tree.insert(i);
+        }
+
+        assertThat(tree.size()).isEqualTo(100_000);
+        assertThat(tree.getRoot().getHeight()).isLessThanOrEqualTo(25);
+        assertThat(tree.contains(99_999)).isTrue();
+        assertThat(tree.contains(100_000)).isFalse();
+    }
+}
@@ -3,8 +3,13 @@ package model;
 import model.test.BinarySearchNode;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -104,4 +109,173 @@ class BinarySearchNodeTest {
 
         assertThat(root).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testToString() {
+        BinarySearchNode root = new BinarySearchNode(10,
+                new BinarySearchNode(3, null, null),
+                null);
+
+        assertThat(root.toString()).isEqualTo("10\n_3\n__\n__\n_\n");
+    }
+
+    @Test
+    void testNotEqualWithDifferentValue() {
+        BinarySearchNode root = new BinarySearchNode(10,
+                new BinarySearchNode(3, null, null),
+                null);
+        BinarySearchNode other = new BinarySearchNode(10,
+                new BinarySearchNode(4, null, null),
+                null);
+
+        assertThat(root).isNotEqualTo(other);
+    }
+
+    @Test
+    void testHashCodeAfterInsert() {
+        BinarySearchNode root = new BinarySearchNode(10, null, null);
+        root.insert(new BinarySearchNode(3, null, null));
+        int before = root.hashCode();
+        root.insert(new BinarySearchNode(4, null, null));
+
+        BinarySearchNode expected = new BinarySearchNode(10,
+                new BinarySearchNode(3,
+                        null,
+                        new BinarySearchNode(4, null, null)),
+                null);
+        assertThat(root.hashCode()).isNotEqualTo(before).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    void testEqualsAfterInsertThroughChild() {
+        BinarySearchNode root = new BinarySearchNode(10, new BinarySearchNode(3, null, null), null);
+        BinarySearchNode other = new BinarySearchNode(10, new BinarySearchNode(3, null, null), null);
+        assertThat(root.hashCode()).isEqualTo(other.hashCode());
+
+        // Only the child hears about this insert, not the root above it
+        root.getLeft().insert(new BinarySearchNode(4, null, null));
+        other.insert(new BinarySearchNode(4, null, null));
+
+        assertThat(root).isEqualTo(other);
+        assertThat(root.hashCode()).isEqualTo(other.hashCode());
+    }
+
+    @Test
+    void testDeepTree() throws Exception {
+        BinarySearchNode root = null;
+        BinarySearchNode other = null;
+        for (int i = 0; i < 100_000; i++) {
+            root = new BinarySearchNode(i, root, null);
+            other = new BinarySearchNode(i, other, null);
+        }
+
+        assertThat(root).isEqualTo(other);
+        assertThat(root.hashCode()).isEqualTo(other.hashCode());
+
+        // The listing has a line per node and per missing child; count them rather than
+        // keep the whole text, since a chain is indented by a total of n^2 underscores
+        int[] lines = {0};
+        root.appendTo(new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                return this.append(csq, 0, csq.length());
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                for (int i = start; i < end; i++) {
+                    this.append(csq.charAt(i));
+                }
+                return this;
+            }
+
+            @Override
+            public Appendable append(char c) {
+                if (c == '\n') {
+                    lines[0]++;
+                }
+                return this;
+            }
+        });
+        assertThat(lines[0]).isEqualTo(200_001);
+    }
+
+    @Test
+    void testContains() {
+        BinarySearchNode root = new BinarySearchNode(Arrays.asList(5, 8, 1, 0, 3));
+
+        assertThat(root.contains(8)).isTrue();
+        assertThat(root.contains(0)).isTrue();
+        assertThat(root.contains(4)).isFalse();
+    }
+
+    @Test
+    void testFloorAndCeiling() {
+        BinarySearchNode root = new BinarySearchNode(Arrays.asList(5, 8, 1, 0, 3));
+
+        assertThat(root.floor(4)).isEqualTo(OptionalInt.of(3));
+        assertThat(root.floor(5)).isEqualTo(OptionalInt.of(5));
+        assertThat(root.floor(-1)).isEmpty();
+        assertThat(root.ceiling(4)).isEqualTo(OptionalInt.of(5));
+        assertThat(root.ceiling(9)).isEmpty();
+    }
+
+    @Test
+    void testIterator() {
+        BinarySearchNode root = new BinarySearchNode(Arrays.asList(5, 8, 1, 0, 3));
+        root.insert(new BinarySearchNode(3, null, null));
+
+        List<Integer> values = new ArrayList<>();
+        root.iterator().forEachRemaining((int value) -> values.add(value));
+        assertThat(values).containsExactly(0, 1, 3, 3, 5, 8);
+    }
+
+    @Test
+    void testRange() {
+        BinarySearchNode root = new BinarySearchNode(Arrays.asList(5, 8, 1, 0, 3));
+
+        List<Integer> values = new ArrayList<>();
+        PrimitiveIterator.OfInt range = root.range(1, 5);
+        range.forEachRemaining((int value) -> values.add(value));
+        assertThat(values).containsExactly(1, 3, 5);
+
+        assertThat(root.range(6, 7).hasNext()).isFalse();
+        assertThatThrownBy(() -> root.range(2, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testParallelStream() {
+        List<Integer> values = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        BinarySearchNode root = new BinarySearchNode(new ArrayList<>(values));
+
+        assertThat(root.stream(true).boxed().collect(Collectors.toList())).isEqualTo(values);
+    }
+
+    @Test
+    void testInsertAll() {
+        BinarySearchNode root = new BinarySearchNode(Arrays.asList(5, 8, 1, 0, 3));
+        root.insertAll(new int[] {2, 3, 9});
+
+        assertThat(root).isEqualTo(new BinarySearchNode(Arrays.asList(0, 1, 2, 3, 3, 5, 8, 9)));
+        assertThat(root.getHeight()).isEqualTo(4);
+    }
+
+    @Test
+    void testInsertAllLargeBatch() {
+        List<Integer> evens = IntStream.range(0, 50_000).map(i -> 2 * i).boxed().collect(Collectors.toList());
+        int[] odds = IntStream.range(0, 50_000).map(i -> 2 * i + 1).toArray();
+        BinarySearchNode root = new BinarySearchNode(new ArrayList<>(evens));
+        root.insertAll(odds);
+
+        assertThat(root.stream(false).toArray()).isEqualTo(IntStream.range(0, 100_000).toArray());
+        assertThat(root.getHeight()).isEqualTo(17);
+    }
+
+    @Test
+    void testInsertAllUnsorted() {
+        BinarySearchNode root = new BinarySearchNode(10, null, null);
+
+        assertThatThrownBy(() -> root.insertAll(new int[] {3, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
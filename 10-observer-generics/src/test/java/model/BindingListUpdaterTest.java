@@ -0,0 +1,72 @@
+package model;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BindingListUpdaterTest {
+
+    @Test
+    void testAttach() {
+        Environment environment = new Environment(Runnable::run);
+        environment.setValue("a", 3.1);
+        environment.setValue("b", 9.3);
+
+        ObservableList<Binding> rows = FXCollections.observableArrayList();
+        BindingListUpdater.attach(environment, rows);
+
+        assertThat(rows).extracting(Binding::getName).containsExactly("a", "b");
+        assertThatThrownBy(() -> BindingListUpdater.attach(environment, rows))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testOnlyChangesAreApplied() {
+        Queue<Runnable> pulses = new ArrayDeque<>();
+        Environment environment = new Environment(pulses::add);
+        environment.setValue("a", 3.1);
+        environment.setValue("b", 9.3);
+        environment.setValue("c", 7e-8);
+        pulses.remove().run();
+
+        ObservableList<Binding> rows = FXCollections.observableArrayList();
+        BindingListUpdater.attach(environment, rows);
+        Binding a = rows.get(0);
+        Binding c = rows.get(2);
+
+        int[] listChanges = {0};
+        int[] valueChanges = {0};
+        rows.addListener((ListChangeListener<Binding>) change -> listChanges[0]++);
+        a.valueProperty().addListener((observable, before, after) -> valueChanges[0]++);
+
+        environment.setValue("a", 1);
+        environment.setValue("a", 2);
+        environment.remove("b");
+        environment.setValue("d", 4);
+        pulses.remove().run();
+
+        // The row for a is updated in place, and c is never touched
+        assertThat(rows).extracting(Binding::getName).containsExactly("a", "c", "d");
+        assertThat(rows.get(0)).isSameAs(a);
+        assertThat(rows.get(1)).isSameAs(c);
+        assertThat(a.getValue()).isEqualTo(2);
+        assertThat(valueChanges[0]).isEqualTo(1);
+        assertThat(listChanges[0]).isEqualTo(2);
+    }
+
+    @Test
+    void testCachedProperties() {
+        Binding binding = new Binding("a", 3.1);
+        binding.valueProperty().set(9.3);
+
+        assertThat(binding.valueProperty()).isSameAs(binding.valueProperty());
+        assertThat(binding.nameProperty()).isSameAs(binding.nameProperty());
+        assertThat(binding.getValue()).isEqualTo(9.3);
+    }
+}
@@ -0,0 +1,45 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BindingReaderTest {
+
+    @Test
+    void testReadInBatches() throws IOException {
+        BindingReader reader = new BindingReader(new StringReader("a = 3.1\n\n# comment\nb=9.3\nc = 7e-8\n"));
+        Map<String, Double> batch = new LinkedHashMap<>();
+
+        assertThat(reader.read(batch, 2)).isEqualTo(2);
+        assertThat(batch).containsExactly(entry("a", 3.1), entry("b", 9.3));
+
+        batch.clear();
+        assertThat(reader.read(batch, 2)).isEqualTo(1);
+        assertThat(batch).containsExactly(entry("c", 7e-8));
+        assertThat(reader.read(batch, 2)).isEqualTo(0);
+    }
+
+    @Test
+    void testBadLine() {
+        BindingReader reader = new BindingReader(new StringReader("a = 3.1\nb 9.3\n"));
+
+        assertThatThrownBy(() -> reader.read(new LinkedHashMap<>(), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 2");
+    }
+
+    @Test
+    void testBadValue() {
+        BindingReader reader = new BindingReader(new StringReader("a = three\n"));
+
+        assertThatThrownBy(() -> reader.read(new LinkedHashMap<>(), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 1");
+    }
+}
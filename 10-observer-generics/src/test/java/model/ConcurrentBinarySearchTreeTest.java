@@ -0,0 +1,111 @@
+package model;
+
+import model.test.ConcurrentBinarySearchTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrentBinarySearchTreeTest {
+
+    @Test
+    void testInsertAndContains() {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        tree.insert(10);
+        tree.insert(3);
+        tree.insert(12);
+        tree.insert(3);
+
+        List<Integer> values = new ArrayList<>();
+        tree.forEachInOrder(values::add);
+
+        assertThat(values).containsExactly(3, 3, 10, 12);
+        assertThat(tree.contains(12)).isTrue();
+        assertThat(tree.contains(11)).isFalse();
+    }
+
+    @Test
+    void testStress() throws InterruptedException {
+        stress(4, 4, 20_000);
+    }
+
+    /**
+     * Run readers and writers against one tree at the same time. Writer {@code w}
+     * inserts the keys {@code w, w + writers, w + 2 * writers, ...} in random order and
+     * publishes how many it has inserted. Readers check that every key a writer has
+     * finished inserting is visible. Afterwards, the tree must be in order and hold
+     * exactly the inserted keys.
+     */
+    static void stress(int readers, int writers, int insertsPerWriter) throws InterruptedException {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        int[][] keys = new int[writers][insertsPerWriter];
+        for (int w = 0; w < writers; w++) {
+            Random random = new Random(w);
+            for (int i = 0; i < insertsPerWriter; i++) {
+                keys[w][i] = w + i * writers;
+            }
+            for (int i = insertsPerWriter - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = keys[w][i];
+                keys[w][i] = keys[w][j];
+                keys[w][j] = swap;
+            }
+        }
+
+        AtomicIntegerArray inserted = new AtomicIntegerArray(writers);
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < insertsPerWriter; i++) {
+                    tree.insert(keys[writer][i]);
+                    inserted.set(writer, i + 1);
+                }
+            }));
+        }
+
+        for (int r = 0; r < readers; r++) {
+            Random random = new Random(-r - 1);
+            threads.add(new Thread(() -> {
+                boolean writing = true;
+                while (writing && failure.get() == null) {
+                    writing = false;
+                    for (int w = 0; w < writers; w++) {
+                        int count = inserted.get(w);
+                        writing |= count < insertsPerWriter;
+                        if (count > 0) {
+                            int key = keys[w][random.nextInt(count)];
+                            if (!tree.contains(key)) {
+                                failure.compareAndSet(null, "Inserted key " + key + " was not found");
+                            }
+                        }
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(failure.get()).isNull();
+        assertThat(tree.size()).isEqualTo(writers * insertsPerWriter);
+
+        List<Integer> values = new ArrayList<>();
+        tree.forEachInOrder(values::add);
+        assertThat(values).isSorted().hasSize(writers * insertsPerWriter);
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(values.get(i)).isEqualTo(i);
+        }
+    }
+}
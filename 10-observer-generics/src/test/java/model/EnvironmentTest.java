@@ -0,0 +1,107 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EnvironmentTest {
+
+    @Test
+    void testBindingEqualityByName() {
+        Set<Binding> bindings = new HashSet<>();
+        bindings.add(new Binding("a", 3.1));
+        bindings.add(new Binding("a", 9.3));
+
+        assertThat(bindings).hasSize(1);
+    }
+
+    @Test
+    void testSetValue() {
+        Environment environment = new Environment(Runnable::run);
+        environment.setValue("a", 3.1);
+        environment.setValue("b", 9.3);
+        environment.setValue("a", 7e-8);
+
+        assertThat(environment.size()).isEqualTo(2);
+        assertThat(environment.getValue("a")).isEqualTo(OptionalDouble.of(7e-8));
+        assertThat(environment.getValue("c")).isEmpty();
+        assertThat(environment.getBindings()).extracting(Binding::getName).containsExactly("a", "b");
+    }
+
+    @Test
+    void testRemove() {
+        Environment environment = new Environment(Runnable::run);
+        environment.setValue("a", 3.1);
+
+        assertThat(environment.remove("a")).isTrue();
+        assertThat(environment.remove("a")).isFalse();
+        assertThat(environment.contains("a")).isFalse();
+    }
+
+    @Test
+    void testChangesAreCoalesced() {
+        Queue<Runnable> pulses = new ArrayDeque<>();
+        Environment environment = new Environment(pulses::add);
+        List<Set<String>> events = new ArrayList<>();
+        environment.addListener((source, names) -> events.add(names));
+
+        for (int i = 0; i < 1000; i++) {
+            environment.setValue("a", i);
+            environment.setValue("b", -i);
+        }
+        environment.remove("c");
+
+        assertThat(events).isEmpty();
+        assertThat(pulses).hasSize(1);
+
+        pulses.remove().run();
+        assertThat(events).containsExactly(Set.of("a", "b"));
+
+        environment.setValue("b", 0);
+        environment.setValue("c", 1);
+        pulses.remove().run();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1)).containsExactly("b", "c");
+    }
+
+    @Test
+    void testRemoveListener() {
+        Environment environment = new Environment(Runnable::run);
+        List<Set<String>> events = new ArrayList<>();
+        EnvironmentListener listener = (source, names) -> events.add(names);
+        environment.addListener(listener);
+        environment.setValue("a", 1);
+        environment.removeListener(listener);
+        environment.setValue("a", 2);
+
+        assertThat(events).containsExactly(Set.of("a"));
+    }
+
+    @Test
+    void testSetValuesIsOneEvent() {
+        Queue<Runnable> pulses = new ArrayDeque<>();
+        Environment environment = new Environment(pulses::add);
+        List<Set<String>> events = new ArrayList<>();
+        environment.addListener((source, names) -> events.add(names));
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("a", 3.1);
+        values.put("b", 9.3);
+        environment.setValues(values);
+        pulses.remove().run();
+
+        assertThat(pulses).isEmpty();
+        assertThat(events).containsExactly(Set.of("a", "b"));
+        assertThat(environment.getBindings()).extracting(Binding::getName).containsExactly("a", "b");
+    }
+}
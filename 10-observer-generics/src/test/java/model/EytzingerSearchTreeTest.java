@@ -0,0 +1,34 @@
+package model;
+
+import model.test.EytzingerSearchTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EytzingerSearchTreeTest {
+
+    @Test
+    void testContains() {
+        List<Integer> values = Arrays.asList(5, 8, 1, 0, 3, 8, Integer.MAX_VALUE);
+        EytzingerSearchTree tree = new EytzingerSearchTree(values);
+
+        assertThat(tree.size()).isEqualTo(7);
+        for (int value : values) {
+            assertThat(tree.contains(value)).isTrue();
+        }
+        assertThat(tree.contains(-1)).isFalse();
+        assertThat(tree.contains(4)).isFalse();
+        assertThat(tree.contains(9)).isFalse();
+    }
+
+    @Test
+    void testEmpty() {
+        EytzingerSearchTree tree = new EytzingerSearchTree(List.of());
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.contains(0)).isFalse();
+    }
+}
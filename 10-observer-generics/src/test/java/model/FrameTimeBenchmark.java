@@ -0,0 +1,118 @@
+package model;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the frame times of a TableView showing a large {@link Environment} while
+ * another thread updates it as fast as it can. It compares replacing every row on
+ * each change, with new cell values on every render, against a
+ * {@link BindingListUpdater} with the cached Binding properties. Run its main method;
+ * it needs a display.
+ */
+public class FrameTimeBenchmark {
+
+    private static final int BINDINGS = 500_000;
+    private static final long SECONDS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        Platform.setImplicitExit(false);
+        started.await();
+
+        run("replace all rows", false);
+        run("diff updater", true);
+
+        Platform.exit();
+    }
+
+    private static void run(String name, boolean diff) throws InterruptedException {
+        Environment environment = new Environment(Platform::runLater);
+        for (int i = 0; i < BINDINGS; i++) {
+            environment.setValue("x" + i, i);
+        }
+
+        long[] frames = new long[(int) (SECONDS * 240)];
+        int[] frameCount = {0};
+        AnimationTimer timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (frameCount[0] < frames.length) {
+                    frames[frameCount[0]++] = now;
+                }
+            }
+        };
+
+        Stage[] stage = new Stage[1];
+        CountDownLatch shown = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            TableView<Binding> table = new TableView<>();
+            TableColumn<Binding, String> nameCol = new TableColumn<>("Name");
+            TableColumn<Binding, Number> valCol = new TableColumn<>("Value");
+            if (diff) {
+                nameCol.setCellValueFactory(e -> e.getValue().nameProperty());
+                valCol.setCellValueFactory(e -> e.getValue().valueProperty());
+                BindingListUpdater.attach(environment, table.getItems());
+            } else {
+                nameCol.setCellValueFactory(e -> new ReadOnlyStringWrapper(e.getValue().getName()));
+                valCol.setCellValueFactory(e -> new SimpleDoubleProperty(e.getValue().getValue()));
+                table.getItems().setAll(environment.getBindings());
+                environment.addListener((source, names) -> table.getItems().setAll(source.getBindings()));
+            }
+            table.getColumns().add(nameCol);
+            table.getColumns().add(valCol);
+
+            stage[0] = new Stage();
+            stage[0].setScene(new Scene(table, 600, 400));
+            stage[0].show();
+            timer.start();
+            shown.countDown();
+        });
+        shown.await();
+
+        // Update the environment from a background thread, as a simulation would
+        Random random = new Random(305);
+        long updates = 0;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        while (System.nanoTime() < end) {
+            environment.setValue("x" + random.nextInt(BINDINGS), random.nextDouble());
+            updates++;
+        }
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            timer.stop();
+            stage[0].hide();
+            stopped.countDown();
+        });
+        stopped.await();
+
+        long[] intervals = new long[Math.max(0, frameCount[0] - 1)];
+        for (int i = 0; i < intervals.length; i++) {
+            intervals[i] = frames[i + 1] - frames[i];
+        }
+        Arrays.sort(intervals);
+
+        if (intervals.length == 0) {
+            System.out.printf("%s: no frames rendered%n", name);
+            return;
+        }
+        System.out.printf("%s: %,d updates/s, %d frames, median %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                name, updates / SECONDS, frameCount[0],
+                intervals[intervals.length / 2] / 1e6,
+                intervals[(int) (intervals.length * 0.99)] / 1e6,
+                intervals[intervals.length - 1] / 1e6);
+    }
+}
@@ -0,0 +1,58 @@
+package model;
+
+import model.test.BalancedBinarySearchTree;
+import model.test.EytzingerSearchTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Compares lookup throughput of a node-based tree built by
+ * {@link model.test.BinarySearchNode#BinarySearchNode(List)} with an
+ * {@link EytzingerSearchTree} built from the same values. Run its main method.
+ */
+public class SearchTreeBenchmark {
+
+    private static final int LOOKUPS = 10_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        for (int size : new int[] {1_000, 100_000, 10_000_000}) {
+            Random random = new Random(305);
+            List<Integer> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(random.nextInt());
+            }
+
+            EytzingerSearchTree eytzinger = new EytzingerSearchTree(values);
+            BalancedBinarySearchTree nodes = new BalancedBinarySearchTree(values);
+            int[] keys = random.ints(LOOKUPS).toArray();
+            for (int i = 0; i < keys.length; i += 2) {
+                keys[i] = values.get(random.nextInt(size));
+            }
+
+            System.out.printf("%,d values:%n", size);
+            time("  nodes", keys, nodes::contains);
+            time("  eytzinger", keys, eytzinger::contains);
+        }
+    }
+
+    private static void time(String name, int[] keys, IntPredicate contains) {
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            found = 0;
+            long start = System.nanoTime();
+            for (int key : keys) {
+                if (contains.test(key)) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        System.out.printf("%s: %.1f M lookups/s (%d found)%n", name, keys.length * 1e3 / best, found);
+    }
+}
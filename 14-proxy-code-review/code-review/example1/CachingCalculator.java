@@ -0,0 +1,109 @@
+package main;
+
+import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A caching proxy for a calculator such as {@code Calculator::calculate}: results are
+ * kept for the most recently used inputs, so repeated expressions are neither parsed
+ * nor evaluated again.
+ *
+ * <p>Inputs are cached exactly as given, whitespace included: the calculator echoes
+ * its input and rejects leading whitespace, so {@code "+ 5 2"} and {@code " + 5 2"}
+ * can't share an entry. A cached result is therefore exactly what the calculator
+ * would have returned. Invalid inputs are cached too: the
+ * {@link InputMismatchException} they caused is thrown again, with the same message,
+ * without calling the calculator.</p>
+ *
+ * <p>Anything the calculator does besides returning a result, like recording
+ * history, only happens on a miss. The cache is safe to share between threads.</p>
+ */
+public class CachingCalculator {
+
+    private final Function<String, String> calculator;
+    private final Map<String, Entry> entries;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    // Either a result or the exception that the input caused
+    private record Entry(String result, InputMismatchException error) {
+    }
+
+    /**
+     * @param calculator The calculator to cache results from
+     * @param capacity The most results to keep
+     */
+    public CachingCalculator(Function<String, String> calculator, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The cache must hold at least one result.");
+        }
+
+        this.calculator = Objects.requireNonNull(calculator);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (this.size() > capacity) {
+                    CachingCalculator.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param input A prefix expression
+     * @return What the calculator returns for input
+     * @throws InputMismatchException if the calculator throws it for input
+     */
+    public String calculate(String input) {
+        Entry entry;
+        synchronized (this) {
+            entry = this.entries.get(input);
+            if (entry != null) {
+                this.hits++;
+            } else {
+                this.misses++;
+            }
+        }
+
+        if (entry == null) {
+            // Computed outside the lock, so a slow input doesn't hold up the others
+            try {
+                entry = new Entry(this.calculator.apply(input), null);
+            } catch (InputMismatchException e) {
+                entry = new Entry(null, e);
+            }
+
+            synchronized (this) {
+                this.entries.put(input, entry);
+            }
+        }
+
+        if (entry.error() != null) {
+            throw new InputMismatchException(entry.error().getMessage());
+        }
+        return entry.result();
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+}
@@ -0,0 +1,109 @@
+import main.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.function.Function;
+
+class CachingCalculatorTest {
+
+    @Test
+    void testRepeatedInputIsCached() {
+        List<String> calls = new ArrayList<>();
+        CachingCalculator calculator = new CachingCalculator(input -> {
+            calls.add(input);
+            return input + " => 7";
+        }, 2);
+
+        Assertions.assertEquals("+ 5 2 => 7", calculator.calculate("+ 5 2"));
+        Assertions.assertEquals("+ 5 2 => 7", calculator.calculate("+ 5 2"));
+        Assertions.assertEquals("+  5 2 => 7", calculator.calculate("+  5 2"));
+
+        // Differently spaced input is passed on as it is, not shared with "+ 5 2"
+        Assertions.assertEquals(List.of("+ 5 2", "+  5 2"), calls);
+        Assertions.assertEquals(1, calculator.getHits());
+        Assertions.assertEquals(2, calculator.getMisses());
+    }
+
+    @Test
+    void testAgreesWithCalculatorOnWhitespace() {
+        CachingCalculator calculator = new CachingCalculator(Calculator::calculate, 16);
+        List<String> inputs = List.of("+ 1 2", " + 1 2", "+ 1 2 ", "+  1 2", "+\t1 2", "", " ", "3", " 3");
+
+        // Twice, so the second round is answered from the cache
+        for (int i = 0; i < 2; i++) {
+            for (String input : inputs) {
+                Assertions.assertEquals(outcome(Calculator::calculate, input),
+                        outcome(calculator::calculate, input), "input \"" + input + "\"");
+            }
+        }
+        Assertions.assertEquals(inputs.size(), calculator.getHits());
+    }
+
+    private static String outcome(Function<String, String> calculator, String input) {
+        try {
+            return calculator.apply(input);
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        List<String> calls = new ArrayList<>();
+        CachingCalculator calculator = new CachingCalculator(input -> {
+            calls.add(input);
+            return input;
+        }, 2);
+
+        calculator.calculate("1");
+        calculator.calculate("2");
+        calculator.calculate("1");
+        calculator.calculate("3");
+        calculator.calculate("1");
+        calculator.calculate("2");
+
+        Assertions.assertEquals(List.of("1", "2", "3", "2"), calls);
+        Assertions.assertEquals(2, calculator.getEvictions());
+        Assertions.assertEquals(2, calculator.size());
+    }
+
+    @Test
+    void testInvalidInputIsCached() {
+        String expectedMessage = "Wrong format! Please use prefix notation!";
+        List<String> calls = new ArrayList<>();
+        CachingCalculator calculator = new CachingCalculator(input -> {
+            calls.add(input);
+            throw new InputMismatchException(expectedMessage);
+        }, 2);
+
+        for (int i = 0; i < 2; i++) {
+            InputMismatchException thrown = Assertions.assertThrows(InputMismatchException.class,
+                () -> calculator.calculate("/ 5 0")
+            );
+            Assertions.assertEquals(expectedMessage, thrown.getMessage());
+        }
+
+        Assertions.assertEquals(1, calls.size());
+    }
+
+    @Test
+    void testInvalidInputWithoutMessageIsCached() {
+        List<String> calls = new ArrayList<>();
+        CachingCalculator calculator = new CachingCalculator(input -> {
+            calls.add(input);
+            throw new InputMismatchException();
+        }, 2);
+
+        for (int i = 0; i < 2; i++) {
+            InputMismatchException thrown = Assertions.assertThrows(InputMismatchException.class,
+                () -> calculator.calculate("n")
+            );
+            Assertions.assertNull(thrown.getMessage());
+        }
+
+        Assertions.assertEquals(1, calls.size());
+    }
+}
@@ -0,0 +1,141 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * A prefix arithmetic expression compiled to a flat program, for formulas that are
+ * evaluated over and over. Every node of the expression has a register: a number's
+ * register is set once, when the expression is compiled, and the program is just the
+ * operators, in an order that computes each operand before it is used. Evaluating
+ * it is a single loop over arrays of opcodes and register indexes: no nodes, no
+ * virtual calls, and no operand stack.
+ *
+ * <p>Each operator is plain double arithmetic on its two operands, computed left
+ * operand first. Nothing is checked at evaluation time, so unlike the calculator,
+ * which rejects {@code "/ 5 0"}, dividing by zero gives an infinity or NaN, and so
+ * does a remainder by zero.</p>
+ *
+ * <p>The registers are allocated once and reused by every evaluation, so a compiled
+ * expression, like a {@link Formula}, must only be used by one thread at a time.</p>
+ */
+public final class CompiledExpression {
+
+    private static final byte ADD = 0;
+    private static final byte SUBTRACT = 1;
+    private static final byte MULTIPLY = 2;
+    private static final byte DIVIDE = 3;
+    private static final byte EXPONENT = 4;
+    private static final byte MODULO = 5;
+
+    // Instruction i sets registers[targets[i]] to ops[i] applied to
+    // registers[lefts[i]] and registers[rights[i]]
+    private final byte[] ops;
+    private final int[] targets;
+    private final int[] lefts;
+    private final int[] rights;
+    private final double[] registers;
+    private final int result;
+
+    private CompiledExpression(Compiler compiler) {
+        this.ops = Arrays.copyOf(compiler.ops, compiler.length);
+        this.targets = Arrays.copyOf(compiler.targets, compiler.length);
+        this.lefts = Arrays.copyOf(compiler.lefts, compiler.length);
+        this.rights = Arrays.copyOf(compiler.rights, compiler.length);
+        this.registers = Arrays.copyOf(compiler.registers, compiler.registerCount);
+        this.result = compiler.stack[0];
+    }
+
+    /**
+     * Compiles a prefix arithmetic expression.
+     *
+     * @param input the input containing the prefix expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the input is not a valid prefix expression
+     */
+    public static CompiledExpression compile(CharSequence input) {
+        Compiler compiler = new Compiler();
+        Parser.scan(input, compiler);
+        return new CompiledExpression(compiler);
+    }
+
+    /**
+     * @return the value of the expression
+     */
+    public double evaluate() {
+        double[] registers = this.registers;
+        for (int i = 0; i < this.ops.length; i++) {
+            double left = registers[this.lefts[i]];
+            double right = registers[this.rights[i]];
+            registers[this.targets[i]] = switch (this.ops[i]) {
+                case ADD -> left + right;
+                case SUBTRACT -> left - right;
+                case MULTIPLY -> left * right;
+                case DIVIDE -> left / right;
+                case EXPONENT -> Math.pow(left, right);
+                default -> left % right;
+            };
+        }
+        return registers[this.result];
+    }
+
+    private static class Compiler implements Parser.TokenHandler {
+        private byte[] ops = new byte[8];
+        private int[] targets = new int[8];
+        private int[] lefts = new int[8];
+        private int[] rights = new int[8];
+        private int length = 0;
+        private double[] registers = new double[16];
+        private int registerCount = 0;
+
+        // The registers holding operands still waiting for their operator
+        private int[] stack = new int[16];
+        private int top = 0;
+
+        @Override
+        public void number(int value) {
+            int register = this.newRegister();
+            this.registers[register] = value;
+            this.push(register);
+        }
+
+        @Override
+        public void operator(char operator) {
+            byte op = switch (operator) {
+                case '+' -> ADD;
+                case '-' -> SUBTRACT;
+                case '*' -> MULTIPLY;
+                case '/' -> DIVIDE;
+                case '^' -> EXPONENT;
+                case '%' -> MODULO;
+                default -> throw new IllegalArgumentException("Invalid operator: " + operator);
+            };
+
+            if (this.length == this.ops.length) {
+                int capacity = 2 * this.length;
+                this.ops = Arrays.copyOf(this.ops, capacity);
+                this.targets = Arrays.copyOf(this.targets, capacity);
+                this.lefts = Arrays.copyOf(this.lefts, capacity);
+                this.rights = Arrays.copyOf(this.rights, capacity);
+            }
+            this.ops[this.length] = op;
+            this.lefts[this.length] = this.stack[--this.top];
+            this.rights[this.length] = this.stack[--this.top];
+            this.targets[this.length] = this.newRegister();
+            this.push(this.targets[this.length++]);
+        }
+
+        private int newRegister() {
+            if (this.registerCount == this.registers.length) {
+                this.registers = Arrays.copyOf(this.registers, 2 * this.registerCount);
+            }
+            return this.registerCount++;
+        }
+
+        private void push(int register) {
+            if (this.top == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, 2 * this.top);
+            }
+            this.stack[this.top++] = register;
+        }
+    }
+}
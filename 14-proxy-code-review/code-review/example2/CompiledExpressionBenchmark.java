@@ -0,0 +1,189 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Compares the time to evaluate a {@link CompiledExpression} with the time to evaluate
+ * the same expression as a tree of node objects, after checking that the two agree
+ * exactly on random expressions. Run its main method.
+ */
+public class CompiledExpressionBenchmark {
+
+    private static final int EVALUATIONS = 20_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(305);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder input = new StringBuilder();
+            randomExpression(random, input, 6);
+            double tree = buildTree(input).evaluate();
+            double compiled = CompiledExpression.compile(input).evaluate();
+            if (Double.doubleToLongBits(tree) != Double.doubleToLongBits(compiled)) {
+                throw new AssertionError(input + ": tree " + tree + ", compiled " + compiled);
+            }
+        }
+        System.out.println("200,000 random expressions agree");
+
+        for (String input : new String[] {"+ 5 2", "+ / ^ 19 2 4 35", "+ / ^ 19 2 4 * - 35 % 8 3 / 7 2"}) {
+            Node tree = buildTree(input);
+            CompiledExpression compiled = CompiledExpression.compile(input);
+            System.out.printf("%s:%n", input);
+            time("  tree", tree::evaluate);
+            time("  compiled", compiled::evaluate);
+        }
+    }
+
+    private static void time(String name, Evaluator evaluator) {
+        long best = Long.MAX_VALUE;
+        double sum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            sum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < EVALUATIONS; i++) {
+                sum += evaluator.evaluate();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        System.out.printf("%s: %.1f ns per evaluation (sum %g)%n", name, (double) best / EVALUATIONS, sum);
+    }
+
+    private interface Evaluator {
+        double evaluate();
+    }
+
+    private static void randomExpression(Random random, StringBuilder input, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            input.append(random.nextInt(41) - 20).append(' ');
+            return;
+        }
+
+        input.append("+-*/^%".charAt(random.nextInt(6))).append(' ');
+        randomExpression(random, input, depth - 1);
+        randomExpression(random, input, depth - 1);
+    }
+
+    // A stand-in for the Expression classes: one class per kind of node, as Digit,
+    // AddOperator and the rest are, so evaluation makes megamorphic virtual calls
+
+    private abstract static class Node {
+        abstract double evaluate();
+    }
+
+    private static final class Number extends Node {
+        private final double value;
+
+        Number(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double evaluate() {
+            return this.value;
+        }
+    }
+
+    private abstract static class Operation extends Node {
+        final Node left;
+        final Node right;
+
+        Operation(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final class Add extends Operation {
+        Add(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate() {
+            return this.left.evaluate() + this.right.evaluate();
+        }
+    }
+
+    private static final class Subtract extends Operation {
+        Subtract(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate() {
+            return this.left.evaluate() - this.right.evaluate();
+        }
+    }
+
+    private static final class Multiply extends Operation {
+        Multiply(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate() {
+            return this.left.evaluate() * this.right.evaluate();
+        }
+    }
+
+    private static final class Divide extends Operation {
+        Divide(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate() {
+            return this.left.evaluate() / this.right.evaluate();
+        }
+    }
+
+    private static final class Exponent extends Operation {
+        Exponent(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate() {
+            return Math.pow(this.left.evaluate(), this.right.evaluate());
+        }
+    }
+
+    private static final class Modulo extends Operation {
+        Modulo(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double evaluate() {
+            return this.left.evaluate() % this.right.evaluate();
+        }
+    }
+
+    private static Node buildTree(CharSequence input) {
+        Deque<Node> nodes = new ArrayDeque<>();
+        Parser.scan(input, new Parser.TokenHandler() {
+            @Override
+            public void number(int value) {
+                nodes.push(new Number(value));
+            }
+
+            @Override
+            public void operator(char operator) {
+                Node left = nodes.pop();
+                Node right = nodes.pop();
+                nodes.push(switch (operator) {
+                    case '+' -> new Add(left, right);
+                    case '-' -> new Subtract(left, right);
+                    case '*' -> new Multiply(left, right);
+                    case '/' -> new Divide(left, right);
+                    case '^' -> new Exponent(left, right);
+                    default -> new Modulo(left, right);
+                });
+            }
+        });
+        return nodes.pop();
+    }
+}
@@ -0,0 +1,99 @@
+import main.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class CompiledExpressionTest {
+
+    @Test
+    void testEvaluate() {
+        Assertions.assertEquals(25, CompiledExpression.compile("^ 5 2").evaluate());
+        Assertions.assertEquals(2.5, CompiledExpression.compile("/ 5 2").evaluate());
+        Assertions.assertEquals(1, CompiledExpression.compile("% 5 2").evaluate());
+        Assertions.assertEquals(3, CompiledExpression.compile("- 5 2").evaluate());
+        Assertions.assertEquals(7, CompiledExpression.compile("- 8 % 5 4").evaluate());
+        Assertions.assertEquals(125.25, CompiledExpression.compile("+ / ^ 19 2 4 35").evaluate());
+        Assertions.assertEquals(3, CompiledExpression.compile("3").evaluate());
+    }
+
+    @Test
+    void testDivideByZero() {
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, CompiledExpression.compile("/ 5 0").evaluate());
+        Assertions.assertEquals(Double.NEGATIVE_INFINITY, CompiledExpression.compile("/ -5 - 2 2").evaluate());
+        Assertions.assertEquals(Double.NaN, CompiledExpression.compile("/ 0 0").evaluate());
+        Assertions.assertEquals(Double.NaN, CompiledExpression.compile("% 5 0").evaluate());
+    }
+
+    @Test
+    void testEvaluateTwice() {
+        CompiledExpression expression = CompiledExpression.compile("+ * 3 6 % 13 2");
+
+        Assertions.assertEquals(19, expression.evaluate());
+        Assertions.assertEquals(19, expression.evaluate());
+    }
+
+    @Test
+    void testMatchesTreeEvaluation() {
+        Random random = new Random(305);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder input = new StringBuilder();
+            randomExpression(random, input, 6);
+
+            double expected = evaluateTree(input.toString().trim().split(" "), new int[] {0});
+            double actual = CompiledExpression.compile(input).evaluate();
+            Assertions.assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual),
+                    input.toString());
+        }
+    }
+
+    @Test
+    void testUnicodeDigits() {
+        // Numbers follow Integer.parseInt, which takes any decimal digit
+        Assertions.assertEquals(Integer.parseInt("\u0663"), CompiledExpression.compile("\u0663").evaluate());
+        Assertions.assertEquals(-11, CompiledExpression.compile("- \uff11 \u0661\u0662").evaluate());
+    }
+
+    @Test
+    void testInvalidInput() {
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                CompiledExpression.compile("+ 1"));
+
+        Assertions.assertEquals("Not enough numbers for a operation", e.getMessage());
+
+        e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                CompiledExpression.compile("* 1 orange"));
+
+        Assertions.assertEquals("Not a valid Operator or Number", e.getMessage());
+    }
+
+    private static void randomExpression(Random random, StringBuilder input, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            input.append(random.nextInt(41) - 20).append(' ');
+            return;
+        }
+
+        input.append("+-*/^%".charAt(random.nextInt(6))).append(' ');
+        randomExpression(random, input, depth - 1);
+        randomExpression(random, input, depth - 1);
+    }
+
+    // Evaluates the tree that the prefix tokens describe, recursively, with double arithmetic
+    private static double evaluateTree(String[] tokens, int[] next) {
+        String token = tokens[next[0]++];
+        if (token.length() != 1 || "+-*/^%".indexOf(token.charAt(0)) < 0) {
+            return Integer.parseInt(token);
+        }
+
+        double left = evaluateTree(tokens, next);
+        double right = evaluateTree(tokens, next);
+        return switch (token.charAt(0)) {
+            case '+' -> left + right;
+            case '-' -> left - right;
+            case '*' -> left * right;
+            case '/' -> left / right;
+            case '^' -> Math.pow(left, right);
+            default -> left % right;
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package main;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The values of the variables used by {@link Formula}s. Each name is given a slot the
+ * first time it is used, and formulas refer to variables by slot so that evaluating
+ * them never looks a name up. Every slot also has a version, bumped each time its value
+ * changes, which lets a formula tell which of its inputs changed since it was last
+ * evaluated.
+ *
+ * <p>Variables that have never been set are 0.</p>
+ */
+public class Environment {
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private double[] values = new double[8];
+    private long[] versions = new long[8];
+
+    /**
+     * @param name A variable name
+     * @return The slot for name, given a new one if name hasn't been used before
+     */
+    public int slotOf(String name) {
+        Integer slot = this.slots.get(name);
+        if (slot == null) {
+            slot = this.slots.size();
+            this.slots.put(name, slot);
+            if (slot == this.values.length) {
+                this.values = Arrays.copyOf(this.values, 2 * slot);
+                this.versions = Arrays.copyOf(this.versions, 2 * slot);
+            }
+        }
+        return slot;
+    }
+
+    public void setValue(String name, double value) {
+        int slot = this.slotOf(name);
+        if (Double.compare(this.values[slot], value) != 0) {
+            this.values[slot] = value;
+            this.versions[slot]++;
+        }
+    }
+
+    public double getValue(String name) {
+        Integer slot = this.slots.get(name);
+        return slot == null ? 0 : this.values[slot];
+    }
+
+    double getValue(int slot) {
+        return this.values[slot];
+    }
+
+    long getVersion(int slot) {
+        return this.versions[slot];
+    }
+}
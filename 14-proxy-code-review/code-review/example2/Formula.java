@@ -0,0 +1,344 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * A prefix arithmetic expression that may refer to variables by name, evaluated
+ * against an {@link Environment}.
+ *
+ * <p>The expression is parsed once, with every variable resolved to its slot in the
+ * environment, into a tree stored as arrays in postfix order, so every node comes
+ * after its operands. Each node remembers its last value. When the formula is
+ * evaluated again, only the nodes above a variable whose value has changed since are
+ * recomputed; with nothing changed, evaluating is a check of each variable's version.</p>
+ *
+ * <p>The arithmetic is the same as {@link CompiledExpression}'s, and a formula must only
+ * be used by one thread at a time.</p>
+ */
+public final class Formula {
+
+    private static final byte CONSTANT = 0;
+    private static final byte VARIABLE = 1;
+    private static final byte ADD = 2;
+    private static final byte SUBTRACT = 3;
+    private static final byte MULTIPLY = 4;
+    private static final byte DIVIDE = 5;
+    private static final byte EXPONENT = 6;
+    private static final byte MODULO = 7;
+
+    // Rows are evaluated this many at a time, and split across threads in chunks of blocks
+    private static final int BLOCK_SIZE = 256;
+    private static final int BLOCKS_PER_TASK = 64;
+
+    private final Environment environment;
+
+    // Node i is ops[i]. A constant's value is in values[i], and a variable's slot is in
+    // slots[i]. An operator's operands are nodes left[i] and right[i], and each node's
+    // operator is parent[i], or -1 for the root.
+    private final byte[] ops;
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;
+    private final int[] slots;
+    private final double[] values;
+    private final String[] names;
+    private final int maxDepth;
+
+    // The variable nodes, and the version of each one's slot when it was last read
+    private final int[] variables;
+    private final long[] seenVersions;
+
+    private boolean evaluated = false;
+    private int[] dirty;
+
+    private Formula(Environment environment, Builder builder) {
+        this.environment = environment;
+        int size = builder.size;
+        this.ops = Arrays.copyOf(builder.ops, size);
+        this.left = Arrays.copyOf(builder.left, size);
+        this.right = Arrays.copyOf(builder.right, size);
+        this.slots = Arrays.copyOf(builder.slots, size);
+        this.values = Arrays.copyOf(builder.values, size);
+        this.names = Arrays.copyOf(builder.names, size);
+        this.maxDepth = builder.maxDepth;
+        this.parent = new int[size];
+        Arrays.fill(this.parent, -1);
+
+        int variableCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (this.ops[i] >= ADD) {
+                this.parent[this.left[i]] = i;
+                this.parent[this.right[i]] = i;
+            } else if (this.ops[i] == VARIABLE) {
+                variableCount++;
+            }
+        }
+
+        this.variables = new int[variableCount];
+        this.seenVersions = new long[variableCount];
+        for (int i = 0, v = 0; i < size; i++) {
+            if (this.ops[i] == VARIABLE) {
+                this.variables[v++] = i;
+            }
+        }
+        this.dirty = new int[8];
+    }
+
+    /**
+     * Parses a prefix arithmetic expression in which any token that is a name, like
+     * {@code x} or {@code rate_2}, is a variable.
+     *
+     * @param input the input containing the prefix expression
+     * @param environment the environment to find the variables in
+     * @return the parsed formula
+     * @throws IllegalArgumentException if the input is not a valid prefix expression
+     */
+    public static Formula compile(CharSequence input, Environment environment) {
+        Builder builder = new Builder(environment);
+        Parser.scan(input, builder);
+        return new Formula(environment, builder);
+    }
+
+    /**
+     * @return the value of the formula for the current values of its variables
+     */
+    public double evaluate() {
+        int root = this.ops.length - 1;
+        if (!this.evaluated) {
+            for (int v = 0; v < this.variables.length; v++) {
+                this.seenVersions[v] = this.environment.getVersion(this.slots[this.variables[v]]);
+            }
+            for (int i = 0; i <= root; i++) {
+                this.compute(i);
+            }
+            this.evaluated = true;
+            return this.values[root];
+        }
+
+        // Find every node above a changed variable. Parents come after their operands,
+        // so computing them in increasing order computes operands first.
+        int dirtyCount = 0;
+        for (int v = 0; v < this.variables.length; v++) {
+            int node = this.variables[v];
+            long version = this.environment.getVersion(this.slots[node]);
+            if (version == this.seenVersions[v]) {
+                continue;
+            }
+
+            this.seenVersions[v] = version;
+            for (; node >= 0; node = this.parent[node]) {
+                if (dirtyCount == this.dirty.length) {
+                    this.dirty = Arrays.copyOf(this.dirty, 2 * dirtyCount);
+                }
+                this.dirty[dirtyCount++] = node;
+            }
+        }
+
+        if (dirtyCount > 0) {
+            Arrays.sort(this.dirty, 0, dirtyCount);
+            int previous = -1;
+            for (int k = 0; k < dirtyCount; k++) {
+                if (this.dirty[k] != previous) {
+                    previous = this.dirty[k];
+                    this.compute(previous);
+                }
+            }
+        }
+        return this.values[root];
+    }
+
+    /**
+     * Evaluate the formula for many rows of variable values at once. Rather than walk
+     * the formula once per row, each operator is applied to a block of rows at a time,
+     * in a tight loop over arrays; the results are the same as setting each row's
+     * values in the environment and calling {@link #evaluate()}. This doesn't use or
+     * change the environment's values.
+     *
+     * @param columns the values of each variable, by name, one row per index
+     * @param rows the number of rows to evaluate
+     * @param parallel whether to split the rows across the common fork-join pool
+     * @return the value of the formula for each row
+     * @throws IllegalArgumentException if rows is negative, or a variable has no column
+     * or too short a one
+     */
+    public double[] evaluateColumns(Map<String, double[]> columns, int rows, boolean parallel) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("The number of rows can't be negative.");
+        }
+
+        double[][] nodeColumns = new double[this.ops.length][];
+        for (int node : this.variables) {
+            double[] column = columns.get(this.names[node]);
+            if (column == null || column.length < rows) {
+                throw new IllegalArgumentException("No column with " + rows + " rows for " + this.names[node]);
+            }
+            nodeColumns[node] = column;
+        }
+
+        double[] result = new double[rows];
+        int chunk = BLOCK_SIZE * BLOCKS_PER_TASK;
+        int chunks = (rows + chunk - 1) / chunk;
+        IntStream tasks = IntStream.range(0, chunks);
+        (parallel ? tasks.parallel() : tasks).forEach(task -> {
+            double[][] stack = new double[this.maxDepth][BLOCK_SIZE];
+            int end = (int) Math.min(rows, (long) (task + 1) * chunk);
+            for (int from = task * chunk; from < end; from += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, end - from);
+                this.evaluateBlock(nodeColumns, stack, from, length);
+                System.arraycopy(stack[0], 0, result, from, length);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run the formula as a stack machine whose values are blocks of rows, in the
+     * same order as {@link Builder} saw the tokens, leaving the result in stack[0].
+     */
+    private void evaluateBlock(double[][] nodeColumns, double[][] stack, int from, int length) {
+        int top = 0;
+        for (int node = 0; node < this.ops.length; node++) {
+            byte op = this.ops[node];
+            if (op == CONSTANT) {
+                Arrays.fill(stack[top++], 0, length, this.values[node]);
+                continue;
+            }
+            if (op == VARIABLE) {
+                System.arraycopy(nodeColumns[node], from, stack[top++], 0, length);
+                continue;
+            }
+
+            // The result replaces the right operand, leaving the left operand's buffer free
+            double[] left = stack[--top];
+            double[] right = stack[top - 1];
+            switch (op) {
+                case ADD -> {
+                    for (int i = 0; i < length; i++) {
+                        right[i] = left[i] + right[i];
+                    }
+                }
+                case SUBTRACT -> {
+                    for (int i = 0; i < length; i++) {
+                        right[i] = left[i] - right[i];
+                    }
+                }
+                case MULTIPLY -> {
+                    for (int i = 0; i < length; i++) {
+                        right[i] = left[i] * right[i];
+                    }
+                }
+                case DIVIDE -> {
+                    for (int i = 0; i < length; i++) {
+                        right[i] = left[i] / right[i];
+                    }
+                }
+                case EXPONENT -> {
+                    for (int i = 0; i < length; i++) {
+                        right[i] = Math.pow(left[i], right[i]);
+                    }
+                }
+                default -> {
+                    for (int i = 0; i < length; i++) {
+                        right[i] = left[i] % right[i];
+                    }
+                }
+            }
+        }
+    }
+
+    private void compute(int node) {
+        if (this.ops[node] == CONSTANT) {
+            return;
+        }
+        if (this.ops[node] == VARIABLE) {
+            this.values[node] = this.environment.getValue(this.slots[node]);
+            return;
+        }
+
+        double left = this.values[this.left[node]];
+        double right = this.values[this.right[node]];
+        this.values[node] = switch (this.ops[node]) {
+            case ADD -> left + right;
+            case SUBTRACT -> left - right;
+            case MULTIPLY -> left * right;
+            case DIVIDE -> left / right;
+            case EXPONENT -> Math.pow(left, right);
+            default -> left % right;
+        };
+    }
+
+    private static class Builder implements Parser.TokenHandler {
+        private final Environment environment;
+        private byte[] ops = new byte[16];
+        private int[] left = new int[16];
+        private int[] right = new int[16];
+        private int[] slots = new int[16];
+        private double[] values = new double[16];
+        private String[] names = new String[16];
+        private int size = 0;
+        private int maxDepth = 0;
+
+        // The nodes whose values are operands still waiting for their operator
+        private int[] stack = new int[16];
+        private int top = 0;
+
+        Builder(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public void number(int value) {
+            int node = this.add(CONSTANT);
+            this.values[node] = value;
+            this.push(node);
+        }
+
+        @Override
+        public void variable(String name) {
+            int node = this.add(VARIABLE);
+            this.slots[node] = this.environment.slotOf(name);
+            this.names[node] = name;
+            this.push(node);
+        }
+
+        @Override
+        public void operator(char operator) {
+            int node = this.add(switch (operator) {
+                case '+' -> ADD;
+                case '-' -> SUBTRACT;
+                case '*' -> MULTIPLY;
+                case '/' -> DIVIDE;
+                case '^' -> EXPONENT;
+                case '%' -> MODULO;
+                default -> throw new IllegalArgumentException("Invalid operator: " + operator);
+            });
+            this.left[node] = this.stack[--this.top];
+            this.right[node] = this.stack[--this.top];
+            this.push(node);
+        }
+
+        private int add(byte op) {
+            if (this.size == this.ops.length) {
+                int capacity = 2 * this.size;
+                this.ops = Arrays.copyOf(this.ops, capacity);
+                this.left = Arrays.copyOf(this.left, capacity);
+                this.right = Arrays.copyOf(this.right, capacity);
+                this.slots = Arrays.copyOf(this.slots, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+                this.names = Arrays.copyOf(this.names, capacity);
+            }
+            this.ops[this.size] = op;
+            return this.size++;
+        }
+
+        private void push(int node) {
+            if (this.top == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, 2 * this.top);
+            }
+            this.stack[this.top++] = node;
+            this.maxDepth = Math.max(this.maxDepth, this.top);
+        }
+    }
+}
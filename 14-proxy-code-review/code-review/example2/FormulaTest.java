@@ -0,0 +1,168 @@
+import main.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+class FormulaTest {
+
+    @Test
+    void testEvaluate() {
+        Environment environment = new Environment();
+        environment.setValue("x", 2);
+        environment.setValue("rate_2", 0.5);
+
+        Assertions.assertEquals(7, Formula.compile("+ x * 10 rate_2", environment).evaluate());
+    }
+
+    @Test
+    void testUnsetVariableIsZero() {
+        Assertions.assertEquals(3, Formula.compile("+ x 3", new Environment()).evaluate());
+    }
+
+    @Test
+    void testChangedVariableIsRecomputed() {
+        Environment environment = new Environment();
+        environment.setValue("x", 2);
+        environment.setValue("y", 3);
+        Formula formula = Formula.compile("+ * x 10 - y 1", environment);
+        Assertions.assertEquals(22, formula.evaluate());
+
+        environment.setValue("x", 4);
+        Assertions.assertEquals(42, formula.evaluate());
+
+        environment.setValue("y", 11);
+        environment.setValue("x", 0);
+        Assertions.assertEquals(10, formula.evaluate());
+    }
+
+    @Test
+    void testUnchangedEnvironmentIsCached() {
+        Environment environment = new Environment();
+        environment.setValue("x", 2);
+        Formula formula = Formula.compile("^ x 10", environment);
+        Assertions.assertEquals(1024, formula.evaluate());
+
+        environment.setValue("x", 2);
+        environment.setValue("unused", 5);
+        Assertions.assertEquals(1024, formula.evaluate());
+    }
+
+    @Test
+    void testIncrementalMatchesFreshEvaluation() {
+        String[] names = {"a", "b", "c", "d"};
+        Random random = new Random(305);
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder input = new StringBuilder();
+            randomFormula(random, input, names, 5);
+            Environment environment = new Environment();
+            Formula formula = Formula.compile(input, environment);
+
+            // Change a few variables at a time, sometimes to the value they already have
+            for (int step = 0; step < 20; step++) {
+                for (int k = random.nextInt(3); k >= 0; k--) {
+                    environment.setValue(names[random.nextInt(names.length)], random.nextInt(5) - 2);
+                }
+
+                double expected = Formula.compile(input, environment).evaluate();
+                Assertions.assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(formula.evaluate()),
+                        input.toString());
+            }
+        }
+    }
+
+    @Test
+    void testFormulasShareAnEnvironment() {
+        Environment environment = new Environment();
+        Formula first = Formula.compile("+ x 1", environment);
+        Formula second = Formula.compile("* x 2", environment);
+        first.evaluate();
+        second.evaluate();
+
+        environment.setValue("x", 5);
+        Assertions.assertEquals(6, first.evaluate());
+        Assertions.assertEquals(10, second.evaluate());
+        Assertions.assertEquals(5, environment.getValue("x"));
+    }
+
+    @Test
+    void testInvalidTokens() {
+        String message = "Not a valid Operator or Number";
+
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                Parser.prefixParse("+ x 1"));
+        Assertions.assertEquals(message, e.getMessage());
+
+        e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                Formula.compile("+ x 1y", new Environment()));
+        Assertions.assertEquals(message, e.getMessage());
+
+        e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                Formula.compile("+ x-y 1", new Environment()));
+        Assertions.assertEquals(message, e.getMessage());
+
+        e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                Formula.compile("+ x", new Environment()));
+        Assertions.assertEquals("Not enough numbers for a operation", e.getMessage());
+    }
+
+    @Test
+    void testEvaluateColumnsMatchesEvaluate() {
+        String input = "+ * x x - / y 3 % z 7";
+        Random random = new Random(305);
+
+        // Around the edges of a 256-row block and of a 64-block chunk
+        for (int rows : new int[] {0, 1, 255, 256, 257, 256 * 64 - 1, 256 * 64 + 1, 3 * 256 * 64 + 100}) {
+            Map<String, double[]> columns = Map.of(
+                    "x", random.doubles(rows, -10, 10).toArray(),
+                    "y", random.doubles(rows, -10, 10).toArray(),
+                    "z", random.doubles(rows + 5, -10, 10).toArray());
+
+            Environment environment = new Environment();
+            Formula formula = Formula.compile(input, environment);
+            double[] sequential = formula.evaluateColumns(columns, rows, false);
+            double[] parallel = formula.evaluateColumns(columns, rows, true);
+            Assertions.assertEquals(rows, sequential.length);
+            Assertions.assertArrayEquals(sequential, parallel);
+
+            for (int row = 0; row < rows; row++) {
+                for (String name : columns.keySet()) {
+                    environment.setValue(name, columns.get(name)[row]);
+                }
+                Assertions.assertEquals(formula.evaluate(), sequential[row]);
+            }
+        }
+    }
+
+    @Test
+    void testEvaluateColumnsBadColumns() {
+        Formula formula = Formula.compile("+ x y", new Environment());
+
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                formula.evaluateColumns(Map.of("x", new double[1000]), 1000, true));
+        Assertions.assertTrue(e.getMessage().contains("y"));
+
+        e = Assertions.assertThrows(IllegalArgumentException.class, () ->
+                formula.evaluateColumns(Map.of("x", new double[1000], "y", new double[999]), 1000, true));
+        Assertions.assertTrue(e.getMessage().contains("y"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                formula.evaluateColumns(Map.of("x", new double[1], "y", new double[1]), -1, false));
+    }
+
+    private static void randomFormula(Random random, StringBuilder input, String[] names, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            if (random.nextBoolean()) {
+                input.append(names[random.nextInt(names.length)]).append(' ');
+            } else {
+                input.append(random.nextInt(21) - 10).append(' ');
+            }
+            return;
+        }
+
+        input.append("+-*/^%".charAt(random.nextInt(6))).append(' ');
+        randomFormula(random, input, names, depth - 1);
+        randomFormula(random, input, names, depth - 1);
+    }
+}
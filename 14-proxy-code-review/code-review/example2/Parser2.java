@@ -16,62 +16,169 @@ public class Parser {
     /**
      * Parses a prefix arithmetic expression and returns an {@link Expression} object.
      *
-     * @param input the input string containing the prefix expression
+     * <p>The input is scanned once, from the last token to the first, without splitting
+     * it into Strings: operators are recognised by their single character and numbers
+     * are accumulated digit by digit, so malformed input costs no exceptions until the
+     * one that reports it.</p>
+     *
+     * @param input the input containing the prefix expression
      * @return the {@link Expression} object representing the expression
-     * @throws IllegalArgumentException if the input string is not a valid prefix expression
+     * @throws IllegalArgumentException if the input is not a valid prefix expression
      */
-    public static Expression prefixParse(String input){
-        String[] tokens = input.split("\\s+");
+    public static Expression prefixParse(CharSequence input){
         Deque<Expression> expressions = new ArrayDeque<>();
-        for(int i = tokens.length - 1; i >= 0; i--){
-            String token = tokens[i];
-            if (isInteger(token)) {
-                expressions.push(new Digit(Integer.parseInt(token)));
-            } else if (isOperator(token)) {
-                if (expressions.size() < 2){
-                    throw new IllegalArgumentException("Not enough numbers for a operation");
-                }
+        scan(input, new TokenHandler() {
+            @Override
+            public void number(int value) {
+                expressions.push(new Digit(value));
+            }
+
+            @Override
+            public void operator(char operator) {
                 Expression firstExpression = expressions.pop();
                 Expression secondExpression = expressions.pop();
-                expressions.push(createOperation(token, firstExpression, secondExpression));
+                expressions.push(createOperation(operator, firstExpression, secondExpression));
+            }
+        });
+        return expressions.pop();
+    }
+
+    /**
+     * Receives the tokens of a prefix expression from the last to the first, which is
+     * the order a stack machine evaluates them in: an operator's left operand is the
+     * value on top of the stack, and its right operand the one below.
+     */
+    interface TokenHandler {
+        void number(int value);
+
+        void operator(char operator);
+
+        /**
+         * Handle a token that is a name rather than a number. Plain prefix expressions
+         * have no variables, so by default a name is invalid.
+         */
+        default void variable(String name) {
+            throw new IllegalArgumentException("Not a valid Operator or Number");
+        }
+    }
+
+    /**
+     * Checks that input is a valid prefix expression, handing each token to handler.
+     * Every operator is handed over only once there are two values for it.
+     *
+     * @throws IllegalArgumentException if the input is not a valid prefix expression
+     */
+    static void scan(CharSequence input, TokenHandler handler){
+        // The empty string splits into a single empty token
+        if (input.length() == 0) {
+            throw new IllegalArgumentException("Not a valid Operator or Number");
+        }
+
+        int depth = 0;
+        int end = input.length();
+        while (end > 0 && isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+
+        while (end > 0) {
+            // Tokens are separated by whitespace, and leading whitespace is an empty token
+            int start = end;
+            while (start > 0 && !isWhitespace(input.charAt(start - 1))) {
+                start--;
+            }
+
+            if (end - start == 1 && isOperator(input.charAt(start))) {
+                if (depth < 2){
+                    throw new IllegalArgumentException("Not enough numbers for a operation");
+                }
+                handler.operator(input.charAt(start));
+                depth--;
+            } else if (isVariable(input, start, end)) {
+                handler.variable(input.subSequence(start, end).toString());
+                depth++;
             } else {
+                handler.number(parseInteger(input, start, end));
+                depth++;
+            }
+
+            if (start == 0) {
+                break;
+            }
+            end = start - 1;
+            while (end > 0 && isWhitespace(input.charAt(end - 1))) {
+                end--;
+            }
+            if (end == 0) {
                 throw new IllegalArgumentException("Not a valid Operator or Number");
             }
         }
-        if (expressions.size() != 1){
+        if (depth != 1){
             throw new IllegalArgumentException("Not the correct amount of Operators or Numbers");
         }
-        return expressions.pop();
     }
 
-    private static Operation createOperation(String token, Expression leftOperand, Expression rightOperand) {
+    private static Operation createOperation(char token, Expression leftOperand, Expression rightOperand) {
         return switch (token) {
-            case "+" -> new AddOperator(leftOperand, rightOperand);
-            case "-" -> new SubtractOperator(leftOperand, rightOperand);
-            case "*" -> new MultiplyOperator(leftOperand, rightOperand);
-            case "/" -> new DivideOperator(leftOperand, rightOperand);
-            case "^" -> new ExponentOperator(leftOperand, rightOperand);
-            case "%" -> new ModuloOperator(leftOperand, rightOperand);
+            case '+' -> new AddOperator(leftOperand, rightOperand);
+            case '-' -> new SubtractOperator(leftOperand, rightOperand);
+            case '*' -> new MultiplyOperator(leftOperand, rightOperand);
+            case '/' -> new DivideOperator(leftOperand, rightOperand);
+            case '^' -> new ExponentOperator(leftOperand, rightOperand);
+            case '%' -> new ModuloOperator(leftOperand, rightOperand);
             default -> throw new IllegalArgumentException("Invalid operator: " + token);
         };
     }
 
-    private static boolean isOperator(String token) {
-        return token.equals("+") ||
-                token.equals("-") ||
-                token.equals("*") ||
-                token.equals("/") ||
-                token.equals("^") ||
-                token.equals("%");
+    private static boolean isOperator(char token) {
+        return switch (token) {
+            case '+', '-', '*', '/', '^', '%' -> true;
+            default -> false;
+        };
     }
 
-    private static boolean isInteger(String token) {
-        try {
-            Integer.parseInt(token);
-            return true;
-        } catch (NumberFormatException e) {
+    private static boolean isVariable(CharSequence input, int start, int end) {
+        if (!Character.isLetter(input.charAt(start)) && input.charAt(start) != '_') {
             return false;
         }
+        for (int i = start + 1; i < end; i++) {
+            if (!Character.isLetterOrDigit(input.charAt(i)) && input.charAt(i) != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The same characters as \s in a regular expression
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Parses input[start..end) the way {@link Integer#parseInt(String)} would, but
+     * accumulating negatively so that Integer.MIN_VALUE needs no special case.
+     */
+    private static int parseInteger(CharSequence input, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+            negative = input.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new IllegalArgumentException("Not a valid Operator or Number");
+        }
+
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; i < end; i++) {
+            // Any Unicode decimal digit, as Integer.parseInt accepts
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0 || result < limit / 10 || result * 10 < limit + digit) {
+                throw new IllegalArgumentException("Not a valid Operator or Number");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
     }
 
 }